@@ -0,0 +1,45 @@
+package roomy.bench;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import roomy.RoomyRomeMateFinderApplication;
+import roomy.perf.PerfDataSeeder;
+
+/**
+ * One application context per forked benchmark JVM, backed by the test profile's in-memory H2
+ * and seeded with the same generator as the perf suite. Volumes default lower than the suite's
+ * so a fork starts in seconds; override with -Dperf.rooms, -Dperf.reviews, -Dperf.chat-messages.
+ */
+final class BenchmarkContext {
+
+    private static ConfigurableApplicationContext context;
+    private static PerfDataSeeder data;
+
+    private BenchmarkContext() {
+    }
+
+    static synchronized ConfigurableApplicationContext context() {
+        if (context == null) {
+            System.setProperty("perf.chat-messages", System.getProperty("perf.chat-messages", "200000"));
+            context = new SpringApplicationBuilder(RoomyRomeMateFinderApplication.class)
+                    .properties("server.port=0", "logging.level.root=WARN")
+                    .run();
+            data = new PerfDataSeeder(context.getBean(JdbcTemplate.class));
+            data.seed();
+        }
+        return context;
+    }
+
+    static synchronized PerfDataSeeder data() {
+        context();
+        return data;
+    }
+
+    static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package roomy.bench;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import roomy.entities.ChatMessage;
+import roomy.entities.Room;
+import roomy.entities.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for bulk inserts of chat messages and of rooms with their image URL rows,
+ * unbatched (jdbcBatchSize 1) against batched. H2 runs in process, so the gap here is mostly
+ * statement overhead; point spring.datasource.url at MySQL to include the round trips that
+ * rewriteBatchedStatements saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int MESSAGES = 500;
+    private static final int ROOMS = 100;
+    private static final int IMAGES_PER_ROOM = 4;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private TransactionTemplate transactions;
+    private EntityManager entityManager;
+    private Long senderId;
+    private Long receiverId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var context = BenchmarkContext.context();
+        transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        var data = BenchmarkContext.data();
+        senderId = data.admin();
+        receiverId = data.owner();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public int chatMessages() {
+        return transactions.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            User sender = entityManager.getReference(User.class, senderId);
+            User receiver = entityManager.getReference(User.class, receiverId);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < MESSAGES; i++) {
+                entityManager.persist(ChatMessage.builder()
+                        .content("Bulk message " + i)
+                        .timestamp(now)
+                        .sender(sender)
+                        .receiver(receiver)
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return MESSAGES;
+        });
+    }
+
+    // Each room writes one room row and IMAGES_PER_ROOM room_image_urls rows
+    @Benchmark
+    @OperationsPerInvocation(ROOMS)
+    public int roomsWithImages() {
+        return transactions.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            User owner = entityManager.getReference(User.class, receiverId);
+            for (int i = 0; i < ROOMS; i++) {
+                Room room = new Room();
+                room.setTitle("Bulk room " + i);
+                room.setPrice(9000.0);
+                room.setLocation("Bulk Area");
+                room.setAvailable(true);
+                List<String> images = new ArrayList<>();
+                for (int k = 0; k < IMAGES_PER_ROOM; k++) {
+                    images.add("/uploads/rooms/bulk-" + i + "-" + k + ".jpg");
+                }
+                room.setImageUrls(images);
+                room.setUser(owner);
+                entityManager.persist(room);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return ROOMS;
+        });
+    }
+}
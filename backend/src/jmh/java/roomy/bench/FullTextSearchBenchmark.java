@@ -0,0 +1,87 @@
+package roomy.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import roomy.dto.JobStatusDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.dto.room.RoomSummaryDto;
+import roomy.entities.Room;
+import roomy.repositories.RoomRepository;
+import roomy.services.RoomSearchIndex;
+import roomy.services.RoomService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the embedded full-text index over 100k rooms (override with -Dperf.rooms),
+ * exact, misspelt and filtered, against the LIKE search it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FullTextSearchBenchmark {
+
+    private RoomSearchIndex searchIndex;
+    private RoomService roomService;
+    private RoomRepository roomRepository;
+    private final RoomFilterDto noFilter = new RoomFilterDto();
+    private final RoomFilterDto sharedUnderTenK = new RoomFilterDto();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("perf.rooms", System.getProperty("perf.rooms", "100000"));
+        var context = BenchmarkContext.context();
+        searchIndex = context.getBean(RoomSearchIndex.class);
+        roomService = context.getBean(RoomService.class);
+        roomRepository = context.getBean(RoomRepository.class);
+        // Rooms are seeded after startup, so the startup build saw an empty table
+        searchIndex.rebuild(new JobStatusDto());
+
+        sharedUnderTenK.setRoomType(List.of("SHARED"));
+        sharedUnderTenK.setMaxPrice(10000.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public List<Long> exactTerms() {
+        return searchIndex.search("seeded number 4242", noFilter, 20);
+    }
+
+    @Benchmark
+    public List<Long> misspeltTerms() {
+        return searchIndex.search("seded numbr 4242", noFilter, 20);
+    }
+
+    @Benchmark
+    public List<Long> filtered() {
+        return searchIndex.search("seeded room", sharedUnderTenK, 20);
+    }
+
+    @Benchmark
+    public List<RoomSummaryDto> endToEnd() {
+        return roomService.searchRoomsFullText("seeded number 4242", noFilter, 20);
+    }
+
+    @Benchmark
+    public List<Room> likeBaseline() {
+        return roomRepository.searchByTitleOrLocation("number 4242");
+    }
+}
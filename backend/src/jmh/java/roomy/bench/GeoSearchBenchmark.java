@@ -0,0 +1,74 @@
+package roomy.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import roomy.dto.room.NearbyRoomDto;
+import roomy.entities.Room;
+import roomy.perf.PerfDataSeeder;
+import roomy.repositories.RoomRepository;
+import roomy.services.RoomService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius and bounding-box search over 100k rooms (override with -Dperf.rooms), against
+ * the unindexed LIKE search on the free-text location as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeoSearchBenchmark {
+
+    @Param({"1", "3", "10"})
+    public double radiusKm;
+
+    private RoomService roomService;
+    private RoomRepository roomRepository;
+    private String location;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("perf.rooms", System.getProperty("perf.rooms", "100000"));
+        var context = BenchmarkContext.context();
+        roomService = context.getBean(RoomService.class);
+        roomRepository = context.getBean(RoomRepository.class);
+        location = PerfDataSeeder.locality(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public List<NearbyRoomDto> nearby() {
+        return roomService.getRoomsNearby(PerfDataSeeder.CENTER_LAT, PerfDataSeeder.CENTER_LNG, radiusKm, 50);
+    }
+
+    @Benchmark
+    public List<NearbyRoomDto> withinBox() {
+        double dLat = radiusKm / 111.2;
+        return roomService.getRoomsInBox(PerfDataSeeder.CENTER_LAT - dLat, PerfDataSeeder.CENTER_LNG - dLat,
+                PerfDataSeeder.CENTER_LAT + dLat, PerfDataSeeder.CENTER_LNG + dLat, null, null, 50);
+    }
+
+    @Benchmark
+    public List<Room> locationLikeBaseline() {
+        return roomRepository.findByLocationContainingIgnoreCase(location);
+    }
+}
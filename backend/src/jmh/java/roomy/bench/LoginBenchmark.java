@@ -0,0 +1,104 @@
+package roomy.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import roomy.dto.LoginDto;
+import roomy.dto.LoginResponseDto;
+import roomy.entities.User;
+import roomy.entities.enums.Role;
+import roomy.exceptions.TooManyRequestsException;
+import roomy.repositories.UserRepository;
+import roomy.services.AuthService;
+import roomy.services.JwtService;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A login burst from 12 threads next to 4 threads of cheap authenticated work (JWT parsing).
+ * Accepted and rejected (429) logins are reported separately; the token parsing rate shows
+ * whether hashing still leaves CPU for other endpoints. Tune with -Dpassword-hashing.threads
+ * and -Dpassword-hashing.queue-capacity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private AuthService authService;
+    private JwtService jwtService;
+    private String email;
+    private String accessToken;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long accepted;
+        public long rejected;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var context = BenchmarkContext.context();
+        authService = context.getBean(AuthService.class);
+        jwtService = context.getBean(JwtService.class);
+
+        User user = new User();
+        user.setEmail("login-bench@roomy.test");
+        user.setName("Login Bench");
+        user.setPassword(context.getBean(PasswordEncoder.class).encode(PASSWORD));
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        user = context.getBean(UserRepository.class).save(user);
+        email = user.getEmail();
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    @Group("burst")
+    @GroupThreads(12)
+    public LoginResponseDto login(Outcomes outcomes) {
+        LoginDto login = new LoginDto();
+        login.setEmail(email);
+        login.setPassword(PASSWORD);
+        try {
+            LoginResponseDto response = authService.login(login);
+            outcomes.accepted++;
+            return response;
+        } catch (TooManyRequestsException e) {
+            outcomes.rejected++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("burst")
+    @GroupThreads(4)
+    public Long otherRequests() {
+        return jwtService.getUserIdFromToken(accessToken);
+    }
+}
@@ -0,0 +1,74 @@
+package roomy.bench;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import roomy.dto.room.RoomDto;
+import roomy.dto.room.RoomSummaryDto;
+import roomy.dto.room.RoomWithReviewsDto;
+import roomy.entities.Room;
+import roomy.perf.PerfDataSeeder;
+import roomy.repositories.RoomRepository;
+import roomy.services.RoomService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RoomServiceBenchmark {
+
+    private RoomService roomService;
+    private ModelMapper modelMapper;
+    private String location;
+    private List<Room> detachedRooms;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var context = BenchmarkContext.context();
+        roomService = context.getBean(RoomService.class);
+        modelMapper = context.getBean(ModelMapper.class);
+        location = PerfDataSeeder.locality(7);
+        // Loaded with the owner/images graph, so mapping below never touches the database
+        detachedRooms = context.getBean(RoomRepository.class).findByLocationContainingIgnoreCase(location);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public List<RoomWithReviewsDto> searchByLocation() {
+        return roomService.getRoomsByLocation(location);
+    }
+
+    @Benchmark
+    public List<RoomSummaryDto> searchSummariesByLocation() {
+        return roomService.getRoomSummariesByLocation(location);
+    }
+
+    @Benchmark
+    public List<RoomWithReviewsDto> searchByQuery() {
+        return roomService.getRoomsByQuery(location);
+    }
+
+    @Benchmark
+    public List<RoomDto> mapRoomsToDtos() {
+        return detachedRooms.stream().map(room -> modelMapper.map(room, RoomDto.class)).toList();
+    }
+}
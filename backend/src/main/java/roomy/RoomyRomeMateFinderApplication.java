@@ -2,10 +2,12 @@ package roomy;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 
 @SpringBootApplication
+@EnableScheduling
 public class RoomyRomeMateFinderApplication {
 
 	public static void main(String[] args) {
@@ -1,21 +1,56 @@
 package roomy.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import roomy.dto.room.RoomSummaryDto;
+import roomy.dto.room.RoomWithReviewsDto;
+import roomy.entities.Room;
+import roomy.services.BoundedPasswordEncoder;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
 
     @Bean
     ModelMapper getModelMapper() {
-        return new ModelMapper();
+        ModelMapper modelMapper = new ModelMapper();
+        // Reviews and stats are filled in by the services from projection queries, never from the lazy collection
+        modelMapper.typeMap(Room.class, RoomWithReviewsDto.class)
+                .addMappings(mapper -> mapper.skip(RoomWithReviewsDto::setReviews));
+        modelMapper.typeMap(Room.class, RoomSummaryDto.class)
+                .addMappings(mapper -> mapper.skip(RoomSummaryDto::setReviewStats));
+        return modelMapper;
+    }
+
+    // Hashing runs on its own bounded pool; by default half the cores, so a login burst cannot
+    // starve the other endpoints. Raising the strength rehashes each password at its next login.
+    @Bean
+    PasswordEncoder passwordEncoder(@Value("${password-hashing.bcrypt-strength:10}") int strength,
+                                    @Value("${password-hashing.threads:0}") int threads,
+                                    @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                                    @Value("${password-hashing.timeout:5s}") Duration timeout,
+                                    MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeout,
+                meterRegistry);
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    TaskExecutor backgroundJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("roomy-job-");
+        executor.initialize();
+        return executor;
     }
 }
@@ -0,0 +1,54 @@
+package roomy.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Response cache for the public room endpoints. Every cache is bounded and expires on
+ * its own; RoomCacheInvalidator evicts on room and review changes. Concurrent misses on
+ * one key compute the value once: most callers use {@code sync = true}, while the location
+ * and query searches in RoomService leave it off because RoomSearchCoalescer collapses
+ * their misses and counts how many it saved.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ROOM_BY_ID = "roomById";
+    public static final String ROOM_LISTS = "roomLists";
+
+    @Bean
+    CacheManager cacheManager(@Value("${room-cache.by-id.max-entries:10000}") long byIdMaxEntries,
+                              @Value("${room-cache.by-id.ttl:10m}") Duration byIdTtl,
+                              @Value("${room-cache.lists.max-entries:2000}") long listsMaxEntries,
+                              @Value("${room-cache.lists.ttl:2m}") Duration listsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; an unknown cache name fails instead of growing unbounded
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(ROOM_BY_ID, Caffeine.newBuilder()
+                .maximumSize(byIdMaxEntries)
+                .expireAfterWrite(byIdTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(ROOM_LISTS, Caffeine.newBuilder()
+                .maximumSize(listsMaxEntries)
+                .expireAfterWrite(listsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    // Cache keys ignore case and surrounding whitespace, so "Pune " and "pune" share an entry
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+}
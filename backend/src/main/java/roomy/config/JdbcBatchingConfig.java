@@ -0,0 +1,29 @@
+package roomy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate sends inserts in JDBC batches (hibernate.jdbc.batch_size); MySQL Connector/J still
+ * executes a batch row by row unless rewriteBatchedStatements folds it into multi-row INSERTs.
+ * The flag is added to MySQL pools only, since other drivers (H2 in tests) reject it.
+ */
+@Configuration
+public class JdbcBatchingConfig {
+
+    @Bean
+    static BeanPostProcessor rewriteBatchedStatements() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                    dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package roomy.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MetricsConfig {
+
+    // Queue depth and busy threads of the STOMP channels; a growing outbound queue means slow clients
+    @Bean
+    MeterBinder stompChannelMetrics(@Qualifier("clientInboundChannelExecutor") TaskExecutor inbound,
+                                    @Qualifier("clientOutboundChannelExecutor") TaskExecutor outbound,
+                                    @Qualifier("brokerChannelExecutor") TaskExecutor broker) {
+        return registry -> {
+            bindExecutor(registry, "inbound", inbound);
+            bindExecutor(registry, "outbound", outbound);
+            bindExecutor(registry, "broker", broker);
+        };
+    }
+
+    private static void bindExecutor(MeterRegistry registry, String channel, TaskExecutor taskExecutor) {
+        if (!(taskExecutor instanceof ThreadPoolTaskExecutor executor)) {
+            return;
+        }
+        Gauge.builder("stomp.channel.queue.size", executor,
+                        e -> e.getThreadPoolExecutor() != null ? e.getThreadPoolExecutor().getQueue().size() : 0)
+                .tag("channel", channel)
+                .register(registry);
+        Gauge.builder("stomp.channel.active.threads", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel)
+                .register(registry);
+    }
+}
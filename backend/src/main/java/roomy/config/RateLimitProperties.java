@@ -0,0 +1,22 @@
+package roomy.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-route throttles applied by RateLimitFilter. Each policy gives every distinct key
+ * ({@code ip} or a top-level field of the JSON body, e.g. {@code email}) a bucket of
+ * {@code capacity} requests that refills completely over {@code period}.
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("100000") long maxKeys,
+                                  Map<String, Policy> policies) {
+
+    public record Policy(HttpMethod method, String path, String key, int capacity, Duration period) {
+    }
+}
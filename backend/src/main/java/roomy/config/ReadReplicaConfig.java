@@ -0,0 +1,97 @@
+package roomy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource when read replicas are enabled. Connections are taken
+ * lazily, at the first statement: Hibernate asks for one when the transaction begins, before
+ * Spring has published its name and read-only flag, which {@link ReplicaRoutingDataSource}
+ * routes on.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                               DataSourceProperties primaryProperties,
+                                               ReadReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<ReadReplicaProperties.Instance> instances = properties.instances() != null ? properties.instances() : List.of();
+        for (ReadReplicaProperties.Instance instance : instances) {
+            if (instance.url() == null || instance.url().isBlank()) {
+                continue;
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + pools.size());
+            pool.setJdbcUrl(instance.url());
+            pool.setUsername(instance.username() != null ? instance.username() : primaryProperties.determineUsername());
+            pool.setPassword(instance.password() != null ? instance.password() : primaryProperties.determinePassword());
+            pool.setMaximumPoolSize(instance.maximumPoolSize());
+            pool.setReadOnly(true);
+            // Hikari's 30 s default would stall startup, every fallback read and the shared scheduler
+            pool.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            pool.setValidationTimeout(properties.connectionTimeout().toMillis());
+            // A replica that is down at startup joins the rotation once the lag check reaches it
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaDataSource);
+    }
+
+    @Bean
+    static BeanPostProcessor replicaCacheModeJpaDialect(ObjectProvider<ReadReplicaProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaCacheModeJpaDialect(properties));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // An open-in-view session would otherwise keep its first connection, replica or primary,
+    // for every later transaction of the request
+    @Bean
+    HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
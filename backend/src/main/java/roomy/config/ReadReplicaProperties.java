@@ -0,0 +1,33 @@
+package roomy.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replica pools for read-only service transactions. A replica serves reads only while the lag
+ * reported by {@code lag-query} (column {@code lag-column}, in seconds) stays within
+ * {@code max-lag}. Username and password default to the primary's. {@code connection-timeout}
+ * bounds both connection attempts and the lag query, so an unreachable replica costs the reads
+ * and the scheduled lag check at most that long before they move on.
+ */
+@ConfigurationProperties("read-replicas")
+public record ReadReplicaProperties(@DefaultValue("false") boolean enabled,
+                                    @DefaultValue("5s") Duration maxLag,
+                                    @DefaultValue("SHOW REPLICA STATUS") String lagQuery,
+                                    @DefaultValue("Seconds_Behind_Source") String lagColumn,
+                                    @DefaultValue("roomy.services.") String transactionPrefix,
+                                    @DefaultValue("1s") Duration connectionTimeout,
+                                    List<Instance> instances) {
+
+    // Read-only transactions opened by a service method; repository-level ones stay on the primary
+    public boolean isReplicaEligible(String transactionName, boolean readOnly) {
+        return enabled && readOnly && transactionName != null && transactionName.startsWith(transactionPrefix);
+    }
+
+    public record Instance(String url, String username, String password,
+                           @DefaultValue("10") int maximumPoolSize) {
+    }
+}
@@ -0,0 +1,51 @@
+package roomy.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Transactions that may be served by a lagging replica read through the second-level cache but
+ * never put into it. Otherwise a row the replica hasn't caught up on could be cached right after
+ * the commit that evicted it, and stay there until the region's expiry.
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    private final ObjectProvider<ReadReplicaProperties> properties;
+
+    public ReplicaCacheModeJpaDialect(ObjectProvider<ReadReplicaProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!properties.getObject().isReplicaEligible(definition.getName(), definition.isReadOnly())) {
+            return transactionData;
+        }
+        // An open-in-view session outlives the transaction, so the previous mode is restored on cleanup
+        Session session = entityManager.unwrap(Session.class);
+        ReplicaTransactionData replicaData = new ReplicaTransactionData(transactionData, session, session.getCacheMode());
+        session.setCacheMode(CacheMode.GET);
+        return replicaData;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replicaData) {
+            replicaData.session().setCacheMode(replicaData.previousCacheMode());
+            super.cleanupTransaction(replicaData.delegate());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record ReplicaTransactionData(Object delegate, Session session, CacheMode previousCacheMode) {
+    }
+}
@@ -0,0 +1,142 @@
+package roomy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The target behind the application's LazyConnectionDataSourceProxy. Read-only transactions
+ * opened by a service method are spread over the replicas that are within the allowed lag;
+ * everything else, including read-only transactions opened by the repositories themselves
+ * (e.g. the login lookups), goes to the primary, as does every read when no replica is fit.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadReplicaProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.replicaReads = meterRegistry.counter("datasource.reads", "target", "replica");
+        this.primaryReads = meterRegistry.counter("datasource.reads", "target", "primary");
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        refreshLag();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        // The proxy asks on the first statement, by which time the transaction is fully set up
+        if (properties.isReplicaEligible(TransactionSynchronizationManager.getCurrentTransactionName(),
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            Replica replica = pick();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    log.warn("Replica {} unavailable, reading from the primary", replica.pool.getPoolName(), e);
+                    replica.healthy = false;
+                }
+            }
+            primaryReads.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured pool credentials");
+    }
+
+    // Round-robin over the replicas that passed the last lag check
+    private Replica pick() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${read-replicas.check-interval-ms:1000}")
+    public void refreshLag() {
+        double maxLagSeconds = properties.maxLag().toMillis() / 1000.0;
+        for (Replica replica : replicas) {
+            double lag = measureLag(replica);
+            boolean healthy = !Double.isNaN(lag) && lag <= maxLagSeconds;
+            if (healthy != replica.healthy) {
+                log.info("Replica {} {} (lag {} s)", replica.pool.getPoolName(),
+                        healthy ? "now serves reads" : "taken out of rotation", lag);
+            }
+            replica.lagSeconds = lag;
+            replica.healthy = healthy;
+        }
+    }
+
+    // NaN when the lag is unknown: replication stopped, the query failed or the replica is down
+    private double measureLag(Replica replica) {
+        try (Connection connection = replica.pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, properties.connectionTimeout().toSeconds()));
+            try (ResultSet rs = statement.executeQuery(properties.lagQuery())) {
+                if (!rs.next()) {
+                    return Double.NaN;
+                }
+                Object lag = rs.getObject(properties.lagColumn());
+                if (lag instanceof Number number) {
+                    return number.doubleValue();
+                }
+                return lag != null ? Double.parseDouble(lag.toString()) : Double.NaN;
+            }
+        } catch (SQLException | NumberFormatException e) {
+            log.debug("Could not read the lag of replica {}", replica.pool.getPoolName(), e);
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        volatile double lagSeconds = Double.NaN;
+        volatile boolean healthy;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
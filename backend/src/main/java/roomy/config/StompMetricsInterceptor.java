@@ -0,0 +1,34 @@
+package roomy.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * Counts STOMP frames per direction and message type (CONNECT, MESSAGE, SUBSCRIBE, ...).
+ */
+public class StompMetricsInterceptor implements ChannelInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final String direction;
+
+    public StompMetricsInterceptor(MeterRegistry meterRegistry, String direction) {
+        this.meterRegistry = meterRegistry;
+        this.direction = direction;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        Counter.builder("stomp.messages")
+                .tag("direction", direction)
+                .tag("type", type != null ? type.name() : "OTHER")
+                .register(meterRegistry)
+                .increment();
+        return message;
+    }
+}
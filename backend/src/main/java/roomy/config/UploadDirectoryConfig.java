@@ -2,6 +2,7 @@ package roomy.config;
 
 import jakarta.annotation.PostConstruct;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,10 +11,16 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 
+@Slf4j
 @Configuration
 public class UploadDirectoryConfig {
 
+    private static final String PROFILE_IMAGE_URL_PREFIX = "/uploads/profile-images/";
+    private static final String DOCUMENT_URL_PREFIX = "/uploads/documents/";
+    private static final String ROOM_IMAGE_URL_PREFIX = "/uploads/rooms/";
+
     @Value("${profile.image.upload-dir:uploads/profile-images}")
     private String profileImageDir;
 
@@ -23,6 +30,28 @@ public class UploadDirectoryConfig {
     @Value("${room.image.upload-dir:uploads/rooms}")
     private String roomImageDir;
 
+    /**
+     * Maps a stored upload URL such as {@code /uploads/rooms/<file>} onto the configured directory
+     * for its kind. Returns null for anything that is not a file directly inside one of them.
+     */
+    public Path resolve(String url) {
+        if (url == null) {
+            return null;
+        }
+        Map<String, String> dirs = Map.of(
+                PROFILE_IMAGE_URL_PREFIX, profileImageDir,
+                DOCUMENT_URL_PREFIX, documentDir,
+                ROOM_IMAGE_URL_PREFIX, roomImageDir);
+        for (Map.Entry<String, String> dir : dirs.entrySet()) {
+            if (url.startsWith(dir.getKey())) {
+                Path root = Paths.get(dir.getValue()).toAbsolutePath().normalize();
+                Path file = root.resolve(url.substring(dir.getKey().length())).normalize();
+                return root.equals(file.getParent()) ? file : null;
+            }
+        }
+        return null;
+    }
+
     @PostConstruct
     public void init() {
         createDirectory(profileImageDir);
@@ -35,13 +64,12 @@ public class UploadDirectoryConfig {
             Path dirPath = Paths.get(path).toAbsolutePath().normalize();
             if (!Files.exists(dirPath)) {
                 Files.createDirectories(dirPath);
-                System.out.println("✅ Folder created: " + dirPath);
+                log.info("Upload folder created: {}", dirPath);
             } else {
-                System.out.println("📂 Folder already exists: " + dirPath);
+                log.debug("Upload folder already exists: {}", dirPath);
             }
         } catch (IOException e) {
-            System.err.println("❌ Failed to create folder: " + path);
-            e.printStackTrace();
+            log.error("Failed to create upload folder {}", path, e);
         }
     }
 }
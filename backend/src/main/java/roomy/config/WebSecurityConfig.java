@@ -2,6 +2,7 @@ package roomy.config;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,15 +17,18 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import roomy.filters.JwtAuthFilter;
+import roomy.filters.RateLimitFilter;
 
 import java.util.List;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class WebSecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     private static final String[] publicRoutes = {
             "/error",
@@ -33,7 +37,9 @@ public class WebSecurityConfig {
             "/ws/**",
             "/topic/**",
             "/app/**",
-            "/uploads/**"
+            "/uploads/**",
+            "/actuator/health/**",
+            "/actuator/prometheus"
     };
 
     @Bean
@@ -49,6 +55,7 @@ public class WebSecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/chat/conversation").permitAll()
 
                         // Room APIs
+                        .requestMatchers(HttpMethod.GET, "/api/room/import/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/room/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/room/**").authenticated()
 
@@ -65,13 +72,15 @@ public class WebSecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/profile/upload-image").authenticated()
                         .requestMatchers(HttpMethod.GET, "/profile/**").authenticated()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Any other request needs authentication
                         .anyRequest().authenticated()
                 )
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
@@ -86,7 +95,7 @@ public class WebSecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:5174"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Auth-Token"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Auth-Token", "traceparent", "tracestate"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
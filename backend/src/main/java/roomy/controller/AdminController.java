@@ -7,12 +7,15 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import roomy.dto.DocumentVerifyDto;
+import roomy.dto.JobStatusDto;
 import roomy.dto.UserDocumentDto;
 import roomy.dto.UserDto;
 
 import roomy.dto.room.RoomDto;
 import roomy.entities.User;
 import roomy.services.AdminService;
+import roomy.services.BackgroundJobService;
+import roomy.services.RoomSearchIndex;
 import roomy.services.RoomService;
 import roomy.services.UserDocumentService;
 
@@ -29,6 +32,8 @@ public class AdminController {
     private final AdminService adminService;
     private final UserDocumentService documentService;
     private final RoomService roomService;
+    private final BackgroundJobService backgroundJobService;
+    private final RoomSearchIndex roomSearchIndex;
 
     @GetMapping("/users")
     public ResponseEntity<List<UserDto>> getAllUsers() {
@@ -41,6 +46,21 @@ public class AdminController {
         return ResponseEntity.ok("User with ID " + id + " and related data deleted successfully.");
     }
 
+    @PostMapping("/{id}/deletion-job")
+    public ResponseEntity<JobStatusDto> startUserDeletionJob(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(adminService.startUserDeletionJob(id));
+    }
+
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<JobStatusDto> rebuildSearchIndex() {
+        return ResponseEntity.accepted().body(roomSearchIndex.startRebuild());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<JobStatusDto> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(backgroundJobService.getJob(jobId));
+    }
+
     @GetMapping("/documents")
     public ResponseEntity<List<UserDocumentDto>> getAllDocuments() {
         return ResponseEntity.ok(documentService.getAllDocuments());
@@ -1,6 +1,7 @@
 package roomy.controller;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +20,7 @@ import roomy.services.UserService;
 
 import java.io.IOException;
 
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/profile")
@@ -41,7 +43,7 @@ public class ProfileController {
             ProfileDto updatedProfile = profileService.uploadProfileImageForLoggedInUser(currentUser, file);
             return ResponseEntity.ok(updatedProfile);
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Profile image upload failed for user {}", currentUser.getId(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
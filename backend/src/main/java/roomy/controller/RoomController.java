@@ -4,20 +4,33 @@ package roomy.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.apache.tomcat.util.net.openssl.ciphers.Authentication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import roomy.advice.ApiError;
+import roomy.dto.JobStatusDto;
+import roomy.dto.room.LocationSuggestionDto;
+import roomy.dto.room.NearbyRoomDto;
 import roomy.dto.room.RoomDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.dto.room.RoomFilterPageDto;
+import roomy.dto.room.RoomSummaryDto;
 import roomy.dto.room.RoomWithReviewsDto;
 import roomy.dto.room.UpdateRoomStatusDto;
 import roomy.entities.Room;
 import roomy.entities.User;
 import roomy.exceptions.ResourceNotFoundException;
+import roomy.services.BackgroundJobService;
+import roomy.services.LocationSuggestionService;
+import roomy.services.RoomImportService;
 import roomy.services.RoomService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -27,6 +40,9 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final LocationSuggestionService locationSuggestionService;
+    private final RoomImportService roomImportService;
+    private final BackgroundJobService backgroundJobService;
 
     @PostMapping
     public ResponseEntity<RoomDto> createRoom(@Valid @RequestBody RoomDto roomDto, @AuthenticationPrincipal User user) {
@@ -35,6 +51,23 @@ public class RoomController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    // Raw request body rather than multipart, so large files stream past the multipart size limits
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<JobStatusDto> importRooms(InputStream body,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @AuthenticationPrincipal User user) throws IOException {
+        RoomImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? RoomImportService.Format.CSV
+                : RoomImportService.Format.NDJSON;
+        return ResponseEntity.accepted().body(roomImportService.startImport(body, format, user));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<JobStatusDto> getImportStatus(@PathVariable String jobId,
+                                                        @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(backgroundJobService.getJob(jobId, user.getId()));
+    }
+
 
     @GetMapping("/mine")
     public ResponseEntity<List<RoomDto>> getMyRooms(@AuthenticationPrincipal User user) {
@@ -100,6 +133,14 @@ public class RoomController {
         return ResponseEntity.ok(rooms);
     }
 
+    @GetMapping("/search/summary")
+    public ResponseEntity<List<RoomSummaryDto>> getRoomSummariesByLocation(
+            @RequestParam String location
+    ) {
+        List<RoomSummaryDto> rooms = roomService.getRoomSummariesByLocation(location);
+        return ResponseEntity.ok(rooms);
+    }
+
     @GetMapping("/query")
     public ResponseEntity<List<RoomWithReviewsDto>> getRoomsByQuery(
             @RequestParam String query
@@ -108,6 +149,51 @@ public class RoomController {
         return ResponseEntity.ok(rooms);
     }
 
+    @GetMapping("/filter")
+    public ResponseEntity<RoomFilterPageDto> filterRooms(RoomFilterDto filter) {
+        return ResponseEntity.ok(roomService.filterRooms(filter));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<LocationSuggestionDto>> suggestLocations(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return ResponseEntity.ok(locationSuggestionService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/fulltext")
+    public ResponseEntity<List<RoomSummaryDto>> searchRoomsFullText(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "20") int limit,
+            RoomFilterDto filter
+    ) {
+        return ResponseEntity.ok(roomService.searchRoomsFullText(q, filter, limit));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRoomDto>> getRoomsNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "3") double radiusKm,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(roomService.getRoomsNearby(lat, lng, radiusKm, limit));
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyRoomDto>> getRoomsWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(roomService.getRoomsInBox(minLat, minLng, maxLat, maxLng, lat, lng, limit));
+    }
+
     @GetMapping("/random")
     public List<RoomDto> getRandomRooms(@RequestParam int count) {
         return roomService.getRandomRooms(count);
@@ -4,12 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import roomy.dto.room.ReviewPageDto;
+import roomy.dto.room.ReviewSort;
+import roomy.dto.room.ReviewStatsDto;
 import roomy.dto.room.RoomReviewDto;
 import roomy.dto.room.RoomReviewRequestDto;
 import roomy.entities.User;
 import roomy.services.RoomReviewService;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/room-reviews")
@@ -26,7 +28,15 @@ public class RoomReviewController {
    }
 
     @GetMapping("/room/{roomId}")
-    public List<RoomReviewDto> getReviews(@PathVariable Long roomId) {
-        return reviewService.getReviewsForRoom(roomId);
+    public ReviewPageDto getReviews(@PathVariable Long roomId,
+                                    @RequestParam(defaultValue = "RECENT") ReviewSort sort,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int size) {
+        return reviewService.getReviewsForRoom(roomId, sort, cursor, size);
+    }
+
+    @GetMapping("/room/{roomId}/stats")
+    public ReviewStatsDto getReviewStats(@PathVariable Long roomId) {
+        return reviewService.getReviewStats(roomId);
     }
 }
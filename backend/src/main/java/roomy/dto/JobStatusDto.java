@@ -0,0 +1,41 @@
+package roomy.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Data
+public class JobStatusDto {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private static final int MAX_MESSAGES = 1000;
+
+    private String id;
+    private String type;
+    // Set for jobs a user started on their own data; only that user may read the status
+    @JsonIgnore
+    private Long ownerId;
+    private volatile State state = State.QUEUED;
+    private volatile String step;
+    private volatile long processed;
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    public void addMessage(String message) {
+        if (messages.size() < MAX_MESSAGES) {
+            messages.add(message);
+        }
+    }
+
+    public void addProcessed(long count) {
+        processed += count;
+    }
+}
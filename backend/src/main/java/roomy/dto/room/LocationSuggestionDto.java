@@ -0,0 +1,13 @@
+package roomy.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LocationSuggestionDto {
+    private String location;
+    private long roomCount;
+}
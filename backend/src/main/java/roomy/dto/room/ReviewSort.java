@@ -0,0 +1,6 @@
+package roomy.dto.room;
+
+public enum ReviewSort {
+    RECENT,
+    RATING
+}
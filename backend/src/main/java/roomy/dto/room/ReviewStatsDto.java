@@ -0,0 +1,30 @@
+package roomy.dto.room;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class ReviewStatsDto {
+
+    private double averageRating;
+    private long reviewCount;
+
+    // rating (1-5) -> number of reviews with that rating
+    private Map<Integer, Long> ratingHistogram = emptyHistogram();
+
+    public void addRatingCount(int rating, long count) {
+        ratingHistogram.merge(rating, count, Long::sum);
+        averageRating = (averageRating * reviewCount + (double) rating * count) / (reviewCount + count);
+        reviewCount += count;
+    }
+
+    private static Map<Integer, Long> emptyHistogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            histogram.put(rating, 0L);
+        }
+        return histogram;
+    }
+}
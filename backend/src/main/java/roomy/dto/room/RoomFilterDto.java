@@ -0,0 +1,31 @@
+package roomy.dto.room;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Query parameters for GET /api/room/filter. Every field is optional; list fields
+ * match any of the given values (?roomType=PRIVATE&roomType=SHARED).
+ */
+@Data
+public class RoomFilterDto {
+    private String location;
+    private Double minPrice;
+    private Double maxPrice;
+    private List<String> roomType;
+    private Boolean furnished;
+    private List<String> genderPreference;
+    private Integer minOccupancy;
+
+    // Rooms that can be moved into on or before this date, including those with no date set
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate availableBy;
+
+    private Boolean available;
+    private RoomSort sort = RoomSort.NEWEST;
+    private int page = 0;
+    private int size = 20;
+}
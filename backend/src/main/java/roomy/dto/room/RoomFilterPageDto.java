@@ -0,0 +1,23 @@
+package roomy.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomFilterPageDto {
+    private List<RoomSummaryDto> items;
+    private int page;
+    private int size;
+    private long total;
+
+    // Dimension (roomType, furnished, genderPreference, maxOccupancy, price) -> value -> matching rooms.
+    // Each dimension ignores its own selection, so the counts show what picking another value would give;
+    // location, price range and availability narrow every dimension.
+    private Map<String, Map<String, Long>> facets;
+}
@@ -1,9 +1,13 @@
 package roomy.dto.room;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
+@AllArgsConstructor
+@NoArgsConstructor
 public class RoomReviewDto {
 
     private Long id;
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 @Data
 public class RoomReviewRequestDto {
@@ -18,5 +19,6 @@ public class RoomReviewRequestDto {
     private int rating;
 
     @NotBlank
+    @Size(max = 255)
     private String reviewComment;
 }
\ No newline at end of file
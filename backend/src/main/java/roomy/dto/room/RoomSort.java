@@ -0,0 +1,8 @@
+package roomy.dto.room;
+
+public enum RoomSort {
+    NEWEST,
+    PRICE_ASC,
+    PRICE_DESC,
+    AVAILABLE_SOONEST
+}
@@ -11,21 +11,29 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_chat_receiver_sender_time", columnList = "receiver_id, sender_id, timestamp"),
+        @Index(name = "idx_chat_sender_receiver_time", columnList = "sender_id, receiver_id, timestamp")
+})
 public class ChatMessage {
 
+    // Handed out in pooled blocks rather than by IDENTITY so Hibernate can batch the inserts;
+    // ids no longer follow time across instances, order by timestamp instead
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_message_id")
+    @TableGenerator(name = "chat_message_id", table = "id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "chat_message", allocationSize = 100)
     private Long id;
 
     private String content;
 
     private LocalDateTime timestamp;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id")
     private User sender;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_id")
     private User receiver;
 }
\ No newline at end of file
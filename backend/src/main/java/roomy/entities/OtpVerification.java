@@ -1,18 +1,27 @@
 package roomy.entities;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.*;
+import roomy.entities.enums.OtpPurpose;
 
 import java.time.LocalDateTime;
 
+// Only written when otp.store=database; the default store keeps codes in memory
 @Entity
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_otp_verification_email_purpose", columnNames = {"email", "purpose"}),
+        indexes = @Index(name = "idx_otp_verification_expiry", columnList = "expiry_time"))
 
 public class OtpVerification {
 
@@ -23,10 +32,14 @@ public class OtpVerification {
 
     private String email;  // or userId if you prefer
 
+    @Enumerated(EnumType.STRING)
+    private OtpPurpose purpose;
+
     private String otp;
 
     private LocalDateTime expiryTime;
-    private boolean verified = false;
+
+    private int failedAttempts;
 
 
 
@@ -0,0 +1,53 @@
+package roomy.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "ranking_outbox_event",
+        indexes = {
+                @Index(name = "idx_ranking_outbox_pending", columnList = "dispatched_at, id"),
+                @Index(name = "idx_ranking_outbox_claim", columnList = "claim_token")
+        })
+public class RankingOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Null when only the room is known; the dispatcher looks the location up
+    private String locality;
+
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    private int attempts;
+
+    // Set while a dispatcher is calling the ranking service for this row
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
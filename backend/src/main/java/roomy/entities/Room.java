@@ -9,8 +9,12 @@ import lombok.ToString;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
 import roomy.entities.enums.RoomStatus;
 import roomy.entities.enums.RoomType;
+import roomy.utils.GeoHash;
 import jakarta.validation.constraints.NotBlank;
 
 
@@ -26,11 +30,31 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
-
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room")
+@Table(indexes = {
+        @Index(name = "idx_room_geohash", columnList = "geohash"),
+        // Filter API: the common leading filters, each followed by the default price sort
+        @Index(name = "idx_room_available_price", columnList = "is_available, price"),
+        @Index(name = "idx_room_type_furnished_price", columnList = "room_type, furnished, price"),
+        @Index(name = "idx_room_available_from", columnList = "available_from"),
+        @Index(name = "idx_room_location", columnList = "location")
+})
+@NamedEntityGraph(name = Room.WITH_OWNER_AND_IMAGES,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "owner"),
+                @NamedAttributeNode("imageUrls")
+        },
+        subgraphs = @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("profile")))
 public class Room {
 
+    public static final String WITH_OWNER_AND_IMAGES = "Room.withOwnerAndImages";
+    public static final int PRICE_BAND = 5000;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "room_id")
+    @TableGenerator(name = "room_id", table = "id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "room", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -41,10 +65,23 @@ public class Room {
     @NotNull
     private Double price;
 
+    // Price facet bucket; computed in SQL so the facet query can group on it
+    @Formula("floor(price / " + PRICE_BAND + ")")
+    private Integer priceBand;
+
     @NotBlank
     private String location;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    // Precision-5 cell of the coordinates, kept in sync on every write; see GeoHash
+    @Column(length = GeoHash.PRECISION)
+    private String geohash;
+
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room_images")
     private List<String> imageUrls = new ArrayList<>();
 
     private boolean furnished;
@@ -70,7 +107,13 @@ public class Room {
     private List<RoomReview> reviews = new ArrayList<>();
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = latitude != null && longitude != null ? GeoHash.encode(latitude, longitude) : null;
+    }
 }
@@ -10,17 +10,27 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = RoomReview.UNIQUE_ROOM_USER, columnNames = {"room_id", "user_id"}),
+        indexes = {
+        @Index(name = "idx_room_review_room_created", columnList = "room_id, created_at, id"),
+        @Index(name = "idx_room_review_room_rating", columnList = "room_id, rating, id")
+})
 public class RoomReview {
 
+    public static final String UNIQUE_ROOM_USER = "uk_room_review_room_user";
+    public static final String ROOM_FOREIGN_KEY = "fk_room_review_room";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "room_review_id")
+    @TableGenerator(name = "room_review_id", table = "id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "room_review", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
-    @JoinColumn(name = "room_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", foreignKey = @ForeignKey(name = RoomReview.ROOM_FOREIGN_KEY))
     private Room room;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
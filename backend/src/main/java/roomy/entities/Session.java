@@ -12,17 +12,23 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_session_token_hash", columnNames = "token_hash"),
+        indexes = @Index(name = "idx_session_user_last_used", columnList = "user_id, last_used_at"))
 public class Session {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "session_id")
+    @TableGenerator(name = "session_id", table = "id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "session", allocationSize = 50)
     private Long id;
 
-    private String refreshToken;
+    // SHA-256 of the refresh token, hex encoded; the token itself is never stored
+    @Column(name = "token_hash", length = 64, nullable = false)
+    private String tokenHash;
 
     @CreationTimestamp
     private LocalDateTime lastUsedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 }
@@ -3,13 +3,14 @@ package roomy.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import roomy.entities.enums.Role;
 import roomy.entities.enums.VerificationStatus;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -23,8 +24,16 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @ToString
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NamedEntityGraph(name = User.WITH_ROLES_AND_PROFILE, attributeNodes = {
+        @NamedAttributeNode("roles"),
+        @NamedAttributeNode("profile")
+})
 public class User implements UserDetails {
 
+    public static final String WITH_ROLES_AND_PROFILE = "User.withRolesAndProfile";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,7 +43,8 @@ public class User implements UserDetails {
     private String password;
     private String name;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user_roles")
     @Enumerated(EnumType.STRING)
     private Set<Role> roles;
     @Column(name = "is_verified", nullable = false)
@@ -46,19 +56,12 @@ public class User implements UserDetails {
 
 
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Lazy through bytecode enhancement (see pom); listing queries still join it explicitly
+    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Profile profile;
 
 
 
-
-    @Column(name = "otp")
-    private String otp;
-
-    @Column(name = "otp_expiry")
-    private LocalDateTime otpExpiry;
-
-
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return roles.stream()
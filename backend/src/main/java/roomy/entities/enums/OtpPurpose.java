@@ -0,0 +1,6 @@
+package roomy.entities.enums;
+
+public enum OtpPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
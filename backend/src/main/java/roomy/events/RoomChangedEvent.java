@@ -0,0 +1,34 @@
+package roomy.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published whenever rooms or their reviews change. Carries the ids of the changed rooms
+ * and every locality whose search results may now be stale (old and new location on a
+ * move), or no localities when the publisher only has the room id.
+ */
+@Getter
+@AllArgsConstructor
+public class RoomChangedEvent {
+
+    private final List<Long> roomIds;
+    private final List<String> localities;
+
+    public static RoomChangedEvent of(Long roomId, String... localities) {
+        return new RoomChangedEvent(List.of(roomId), List.of(localities));
+    }
+
+    // Locality not known to the publisher; listeners resolve it from the room id
+    public static RoomChangedEvent forRoom(Long roomId) {
+        return new RoomChangedEvent(List.of(roomId), List.of());
+    }
+
+    // Bulk change, e.g. every room of a purged user or one committed import batch
+    public static RoomChangedEvent forRooms(Collection<Long> roomIds, Collection<String> localities) {
+        return new RoomChangedEvent(List.copyOf(roomIds), List.copyOf(localities));
+    }
+}
@@ -0,0 +1,8 @@
+package roomy.exceptions;
+
+public class ResourceConflictException extends RuntimeException{
+
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,245 @@
+package roomy.filters;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import roomy.advice.ApiError;
+import roomy.config.RateLimitProperties;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttles the expensive public endpoints (BCrypt on login, SMTP on sign-up and password
+ * reset, unauthenticated chat sends) before the JWT filter, so a rejected request costs
+ * neither a database round trip nor a hash. Bodies of routes keyed on a JSON field are capped
+ * at 16 KB; {@code ip} keys rely on server.forward-headers-strategy to see the client address
+ * behind a load balancer.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<Route> routes = new ArrayList<>();
+    private final Cache<String, TokenBucket> buckets;
+
+    record Route(String name, RateLimitProperties.Policy policy, long nanosPerToken) {
+    }
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        Duration longestPeriod = Duration.ofMinutes(1);
+        Map<String, RateLimitProperties.Policy> policies = properties.policies() != null ? properties.policies() : Map.of();
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : policies.entrySet()) {
+            RateLimitProperties.Policy policy = entry.getValue();
+            routes.add(new Route(entry.getKey(), policy, policy.period().toNanos() / policy.capacity()));
+            if (policy.period().compareTo(longestPeriod) > 0) {
+                longestPeriod = policy.period();
+            }
+        }
+        // A bucket idle for a whole period is full again, so dropping it loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterAccess(longestPeriod)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        HttpServletRequest current = request;
+        JsonNode body = null;
+
+        for (Route route : routes) {
+            RateLimitProperties.Policy policy = route.policy();
+            if (!policy.path().equals(path) || (policy.method() != null && !policy.method().matches(request.getMethod()))) {
+                continue;
+            }
+
+            String key;
+            if ("ip".equals(policy.key())) {
+                key = request.getRemoteAddr();
+            } else {
+                if (body == null) {
+                    // Read whatever Content-Length says: chunked or padded bodies must not skip the key
+                    CachedBodyRequest cached = request.getContentLengthLong() > MAX_BODY_BYTES
+                            ? null : CachedBodyRequest.read(request);
+                    if (cached == null) {
+                        writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large");
+                        return;
+                    }
+                    current = cached;
+                    body = cached.json(objectMapper);
+                }
+                JsonNode field = body.get(policy.key());
+                // Without the field the request fails validation downstream; the ip policies still apply
+                key = field != null && field.isValueNode() ? field.asText().trim().toLowerCase(Locale.ROOT) : null;
+            }
+            if (key == null || key.isEmpty()) {
+                continue;
+            }
+
+            TokenBucket bucket = buckets.get(route.name() + '|' + key,
+                    ignored -> new TokenBucket(route.nanosPerToken(), policy.capacity()));
+            long waitNanos = bucket.tryAcquire(System.nanoTime());
+            if (waitNanos > 0) {
+                reject(response, route.name(), waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(current, response);
+    }
+
+    private void reject(HttpServletResponse response, String policy, long waitNanos) throws IOException {
+        meterRegistry.counter("rate.limit.rejections", "policy", policy).increment();
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, try again later");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(message, status));
+    }
+
+    /**
+     * Token bucket kept as a single "theoretical arrival time" (the GCRA form): each request
+     * pushes it forward by one token's worth of time, and the bucket is empty while it runs
+     * more than a full burst ahead of now. One CAS per request, no locks.
+     */
+    static final class TokenBucket {
+
+        private final long nanosPerToken;
+        private final long burstNanos;
+        private final AtomicLong theoreticalArrival;
+
+        TokenBucket(long nanosPerToken, int capacity) {
+            this.nanosPerToken = nanosPerToken;
+            this.burstNanos = nanosPerToken * capacity;
+            this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        }
+
+        // 0 when a token was taken, otherwise the nanoseconds until the next one is available
+        long tryAcquire(long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + nanosPerToken;
+                long ahead = next - now;
+                if (ahead > burstNanos) {
+                    return ahead - burstNanos;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    // Buffers a small JSON body so the key can be read here and the controller still sees it
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // null when the body is larger than MAX_BODY_BYTES
+        static CachedBodyRequest read(HttpServletRequest request) throws IOException {
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            return body.length > MAX_BODY_BYTES ? null : new CachedBodyRequest(request, body);
+        }
+
+        JsonNode json(ObjectMapper objectMapper) {
+            try {
+                JsonNode node = objectMapper.readTree(body);
+                return node != null ? node : objectMapper.createObjectNode();
+            } catch (IOException e) {
+                return objectMapper.createObjectNode();
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
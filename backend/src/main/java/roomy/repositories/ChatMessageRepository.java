@@ -1,13 +1,17 @@
 package roomy.repositories;
 
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import roomy.dto.RecentChatDto;
 import roomy.entities.ChatMessage;
 import roomy.entities.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
@@ -16,19 +20,47 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
             "WHERE c.sender.id = :userId OR c.receiver.id = :userId")
     List<User> findChatUsers(@Param("userId") Long userId);
 
-    @Query("SELECT DISTINCT c.receiver FROM ChatMessage c WHERE c.sender.id = :userId")
+    // Profiles are joined here, otherwise every returned user costs one more select for its profile
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.profile " +
+            "WHERE u.id IN (SELECT c.receiver.id FROM ChatMessage c WHERE c.sender.id = :userId)")
     List<User> findReceivers(@Param("userId") Long userId);
 
-    @Query("SELECT DISTINCT c.sender FROM ChatMessage c WHERE c.receiver.id = :userId")
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.profile " +
+            "WHERE u.id IN (SELECT c.sender.id FROM ChatMessage c WHERE c.receiver.id = :userId)")
     List<User> findSenders(@Param("userId") Long userId);
 
-    List<ChatMessage> findBySenderIdAndReceiverIdOrderByTimestampAsc(Long senderId, Long receiverId);
+    // Written out so the filter is on the foreign keys rather than on left-joined users
+    @Query("SELECT c FROM ChatMessage c WHERE c.sender.id = :senderId AND c.receiver.id = :receiverId ORDER BY c.timestamp")
+    List<ChatMessage> findBySenderIdAndReceiverIdOrderByTimestampAsc(@Param("senderId") Long senderId,
+                                                                     @Param("receiverId") Long receiverId);
 
 
     @Query("SELECT c FROM ChatMessage c WHERE c.sender.id = :userId OR c.receiver.id = :userId ORDER BY c.timestamp DESC")
     List<ChatMessage> findAllChatsOfUser(@Param("userId") Long userId);
 
 
+    // Latest message time per direction of each conversation; the service folds both directions together
+    @Query("""
+        SELECT c.sender.id AS senderId, c.receiver.id AS receiverId, MAX(c.timestamp) AS lastMessageTime
+        FROM ChatMessage c
+        WHERE c.sender.id = :userId OR c.receiver.id = :userId
+        GROUP BY c.sender.id, c.receiver.id
+    """)
+    List<ConversationHead> findConversationHeads(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT new roomy.dto.RecentChatDto(u.id, u.name, p.profileImageUrl, c.content, c.timestamp)
+        FROM ChatMessage c
+        JOIN User u ON u.id = CASE WHEN c.sender.id = :userId THEN c.receiver.id ELSE c.sender.id END
+        LEFT JOIN u.profile p
+        WHERE ((c.sender.id = :userId AND c.receiver.id IN :otherUserIds)
+            OR (c.receiver.id = :userId AND c.sender.id IN :otherUserIds))
+          AND c.timestamp IN :timestamps
+    """)
+    List<RecentChatDto> findRecentChats(@Param("userId") Long userId,
+                                        @Param("otherUserIds") Collection<Long> otherUserIds,
+                                        @Param("timestamps") Collection<LocalDateTime> timestamps);
+
     ChatMessage findTopBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampDesc(
             Long senderId1, Long receiverId1,
             Long senderId2, Long receiverId2
@@ -36,8 +68,18 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     void deleteBySenderIdOrReceiverId(Long senderId, Long receiverId);
 
+    // Used to delete a heavy user's messages in bounded chunks via deleteAllByIdInBatch
+    @Query("SELECT c.id FROM ChatMessage c WHERE c.sender.id = :userId OR c.receiver.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM ChatMessage c WHERE c.sender.id = :userId OR c.receiver.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
+
+    interface ConversationHead {
+        Long getSenderId();
+        Long getReceiverId();
+        LocalDateTime getLastMessageTime();
+    }
 }
@@ -1,11 +1,32 @@
 package roomy.repositories;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import roomy.entities.OtpVerification;
+import roomy.entities.enums.OtpPurpose;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface OtpVerificationRepository extends JpaRepository<OtpVerification, Long> {
-    Optional<OtpVerification> findByEmail(String email);
-    void deleteByEmail(String email);
-}
\ No newline at end of file
+
+    // Row lock so concurrent guesses are counted one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<OtpVerification> findForUpdateByEmailAndPurpose(String email, OtpPurpose purpose);
+
+    @Modifying
+    @Query("DELETE FROM OtpVerification o WHERE o.email = :email AND o.purpose = :purpose")
+    int deleteByEmailAndPurpose(@Param("email") String email, @Param("purpose") OtpPurpose purpose);
+
+    @Modifying
+    @Query("DELETE FROM OtpVerification o WHERE o.email = :email")
+    int deleteByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("DELETE FROM OtpVerification o WHERE o.expiryTime < :now")
+    int deleteExpiredBefore(@Param("now") LocalDateTime now);
+}
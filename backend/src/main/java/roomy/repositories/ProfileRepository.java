@@ -1,12 +1,26 @@
 package roomy.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import roomy.entities.Profile;
 import roomy.entities.User;
 
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Profile> findByUser(User user);
 
+    @Modifying
+    @Query("DELETE FROM Profile p WHERE p.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.profileImageUrl FROM Profile p WHERE p.user.id = :userId")
+    Optional<String> findProfileImageUrlByUserId(@Param("userId") Long userId);
+
 }
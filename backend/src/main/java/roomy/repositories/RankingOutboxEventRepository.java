@@ -0,0 +1,54 @@
+package roomy.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import roomy.entities.RankingOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface RankingOutboxEventRepository extends JpaRepository<RankingOutboxEvent, Long> {
+
+    @Query("""
+        SELECT e.id FROM RankingOutboxEvent e
+        WHERE e.dispatchedAt IS NULL AND e.attempts < :maxAttempts
+          AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)
+        ORDER BY e.id
+    """)
+    List<Long> findClaimable(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Re-checks the claim in the UPDATE, so of two dispatchers racing for a row only one gets it
+    @Modifying
+    @Query("""
+        UPDATE RankingOutboxEvent e SET e.claimToken = :token, e.claimedUntil = :until
+        WHERE e.id IN :ids AND e.dispatchedAt IS NULL
+          AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)
+    """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    List<RankingOutboxEvent> findByClaimToken(String claimToken);
+
+    @Modifying
+    @Query("""
+        UPDATE RankingOutboxEvent e SET e.dispatchedAt = :now, e.claimToken = NULL, e.claimedUntil = NULL
+        WHERE e.id IN :ids
+    """)
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE RankingOutboxEvent e
+        SET e.attempts = e.attempts + 1, e.lastError = :error, e.claimToken = NULL, e.claimedUntil = NULL
+        WHERE e.id IN :ids
+    """)
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM RankingOutboxEvent e WHERE e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,16 @@
+package roomy.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+import roomy.entities.Room;
+
+import java.util.List;
+
+public interface RoomFacetRepository {
+
+    // One row per combination of facet values among the rooms matching the filter
+    List<FacetRow> countFacets(Specification<Room> filter);
+
+    record FacetRow(String roomType, boolean furnished, String genderPreference, int maxOccupancy,
+                    Integer priceBand, long count) {
+    }
+}
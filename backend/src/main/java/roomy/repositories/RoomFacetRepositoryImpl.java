@@ -0,0 +1,50 @@
+package roomy.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import roomy.entities.Room;
+
+import java.util.List;
+
+public class RoomFacetRepositoryImpl implements RoomFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FacetRow> countFacets(Specification<Room> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Room> room = query.from(Room.class);
+
+        Path<String> roomType = room.get("roomType");
+        Path<Boolean> furnished = room.get("furnished");
+        Path<String> genderPreference = room.get("genderPreference");
+        Path<Integer> maxOccupancy = room.get("maxOccupancy");
+        Path<Integer> priceBand = room.get("priceBand");
+
+        query.multiselect(roomType, furnished, genderPreference, maxOccupancy, priceBand, cb.count(room));
+        Predicate where = filter.toPredicate(room, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.groupBy(roomType, furnished, genderPreference, maxOccupancy, priceBand);
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new FacetRow(
+                        row.get(0, String.class),
+                        Boolean.TRUE.equals(row.get(1, Boolean.class)),
+                        row.get(2, String.class),
+                        row.get(3, Integer.class),
+                        row.get(4, Integer.class),
+                        row.get(5, Long.class)))
+                .toList();
+    }
+}
@@ -1,18 +1,136 @@
 package roomy.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import roomy.entities.Room;
 import roomy.entities.User;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room>, RoomFacetRepository {
 
+    // Listing endpoints map owner name and images, so they load both in the same statement
+    @Override
+    @EntityGraph(Room.WITH_OWNER_AND_IMAGES)
+    List<Room> findAll();
+
+    @EntityGraph(Room.WITH_OWNER_AND_IMAGES)
     List<Room> findByUser(User user);
 
+    // Owner without the profile: the room DTO doesn't need it, and a cached owner keeps it lazy
+    @EntityGraph(attributePaths = {"user", "imageUrls"})
+    Optional<Room> findWithOwnerAndImagesById(Long roomId);
+
     Optional<Room> findByIdAndUserId(Long roomId, Long userId);
+    @EntityGraph(Room.WITH_OWNER_AND_IMAGES)
     List<Room> findByLocationContainingIgnoreCase(String location);
+    @EntityGraph(Room.WITH_OWNER_AND_IMAGES)
     List<Room> findAllByIsAvailableTrue();
-    void deleteByUserId(Long userId);
+
+    @EntityGraph(Room.WITH_OWNER_AND_IMAGES)
+    @Query("""
+        SELECT r FROM Room r
+        WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%'))
+           OR LOWER(r.location) LIKE LOWER(CONCAT('%', :query, '%'))
+    """)
+    List<Room> searchByTitleOrLocation(@Param("query") String query);
+
+    // Ids only so the limit is applied in SQL; ordered by equirectangular distance, which
+    // ranks like the true distance at city scale. lngScale is cos²(latitude) of the centre.
+    @Query("""
+        SELECT r.id FROM Room r
+        WHERE r.geohash IN :cells
+          AND r.latitude BETWEEN :minLat AND :maxLat
+          AND r.longitude BETWEEN :minLng AND :maxLng
+        ORDER BY (r.latitude - :lat) * (r.latitude - :lat)
+               + (r.longitude - :lng) * (r.longitude - :lng) * :lngScale, r.id
+    """)
+    List<Long> findIdsInCellsByDistance(@Param("cells") Collection<String> cells,
+                                        @Param("minLat") double minLat,
+                                        @Param("maxLat") double maxLat,
+                                        @Param("minLng") double minLng,
+                                        @Param("maxLng") double maxLng,
+                                        @Param("lat") double lat,
+                                        @Param("lng") double lng,
+                                        @Param("lngScale") double lngScale,
+                                        Pageable pageable);
+
+    @EntityGraph(Room.WITH_OWNER_AND_IMAGES)
+    List<Room> findByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Room r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM room_image_urls WHERE room_id IN (SELECT id FROM room WHERE user_id = :userId)",
+            nativeQuery = true)
+    int deleteImageUrlsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT i FROM Room r JOIN r.imageUrls i WHERE r.user.id = :userId")
+    List<String> findImageUrlsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r.id FROM Room r WHERE r.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT r.location FROM Room r WHERE r.user.id = :userId")
+    List<String> findLocationsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r.id AS id, r.location AS location FROM Room r WHERE r.id IN :ids")
+    List<RoomLocation> findLocationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.location AS location, COUNT(r) AS count FROM Room r WHERE r.location IS NOT NULL GROUP BY r.location")
+    List<LocationCount> countByLocation();
+
+    interface LocationCount {
+        String getLocation();
+        Long getCount();
+    }
+
+    // Full-text index feed: scalar columns only, so a rebuild never loads entities into the cache
+    @Query("""
+        SELECT r.id AS id, r.title AS title, r.description AS description, r.location AS location,
+               r.price AS price, r.roomType AS roomType, r.furnished AS furnished, r.isAvailable AS available,
+               r.genderPreference AS genderPreference, r.maxOccupancy AS maxOccupancy, r.availableFrom AS availableFrom
+        FROM Room r
+        WHERE r.id > :afterId
+        ORDER BY r.id
+    """)
+    List<RoomSearchRow> findSearchRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT r.id AS id, r.title AS title, r.description AS description, r.location AS location,
+               r.price AS price, r.roomType AS roomType, r.furnished AS furnished, r.isAvailable AS available,
+               r.genderPreference AS genderPreference, r.maxOccupancy AS maxOccupancy, r.availableFrom AS availableFrom
+        FROM Room r
+        WHERE r.id IN :ids
+    """)
+    List<RoomSearchRow> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface RoomSearchRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        String getLocation();
+        Double getPrice();
+        String getRoomType();
+        Boolean getFurnished();
+        Boolean getAvailable();
+        String getGenderPreference();
+        Integer getMaxOccupancy();
+        LocalDate getAvailableFrom();
+    }
+
+    interface RoomLocation {
+        Long getId();
+        String getLocation();
+    }
 }
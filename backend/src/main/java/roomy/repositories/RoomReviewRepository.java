@@ -1,13 +1,17 @@
 package roomy.repositories;
 
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import roomy.dto.room.RoomReviewDto;
 import roomy.entities.Room;
 import roomy.entities.RoomReview;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface RoomReviewRepository extends JpaRepository<RoomReview, Long> {
@@ -31,6 +35,65 @@ public interface RoomReviewRepository extends JpaRepository<RoomReview, Long> {
 
 List<RoomReview> findByRoomId(Long roomId);
 
+    // Keyset pages: reviewer name comes from the join, so no User entities are loaded
+    @Query("""
+        SELECT new roomy.dto.room.RoomReviewDto(r.id, r.room.id, u.id, u.name, r.rating, r.reviewComment, r.createdAt)
+        FROM RoomReview r LEFT JOIN r.user u
+        WHERE r.room.id = :roomId
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    List<RoomReviewDto> findPageByRecency(@Param("roomId") Long roomId, Pageable pageable);
+
+    @Query("""
+        SELECT new roomy.dto.room.RoomReviewDto(r.id, r.room.id, u.id, u.name, r.rating, r.reviewComment, r.createdAt)
+        FROM RoomReview r LEFT JOIN r.user u
+        WHERE r.room.id = :roomId
+          AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    List<RoomReviewDto> findPageByRecencyAfter(@Param("roomId") Long roomId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query("""
+        SELECT new roomy.dto.room.RoomReviewDto(r.id, r.room.id, u.id, u.name, r.rating, r.reviewComment, r.createdAt)
+        FROM RoomReview r LEFT JOIN r.user u
+        WHERE r.room.id = :roomId
+        ORDER BY r.rating DESC, r.id DESC
+    """)
+    List<RoomReviewDto> findPageByRating(@Param("roomId") Long roomId, Pageable pageable);
+
+    @Query("""
+        SELECT new roomy.dto.room.RoomReviewDto(r.id, r.room.id, u.id, u.name, r.rating, r.reviewComment, r.createdAt)
+        FROM RoomReview r LEFT JOIN r.user u
+        WHERE r.room.id = :roomId
+          AND (r.rating < :rating OR (r.rating = :rating AND r.id < :id))
+        ORDER BY r.rating DESC, r.id DESC
+    """)
+    List<RoomReviewDto> findPageByRatingAfter(@Param("roomId") Long roomId,
+                                              @Param("rating") int rating,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // All reviews for a page of rooms in one statement, grouped by the caller
+    @Query("""
+        SELECT new roomy.dto.room.RoomReviewDto(r.id, r.room.id, u.id, u.name, r.rating, r.reviewComment, r.createdAt)
+        FROM RoomReview r LEFT JOIN r.user u
+        WHERE r.room.id IN :roomIds
+        ORDER BY r.id
+    """)
+    List<RoomReviewDto> findDtosByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+    // One row per (room, rating) pair; callers fold these into a histogram
+    @Query("""
+        SELECT r.room.id AS roomId, r.rating AS rating, COUNT(r) AS count
+        FROM RoomReview r
+        WHERE r.room.id IN :roomIds
+        GROUP BY r.room.id, r.rating
+    """)
+    List<RatingCount> countRatingsByRoomIds(@Param("roomIds") Collection<Long> roomIds);
+
     boolean existsByRoomIdAndUserId(Long roomId, Long userId);
 
     List<RoomReview> findByRoom(Room room);
@@ -47,7 +110,7 @@ List<RoomReview> findByRoomId(Long roomId);
         WHERE r.user.id = :userId 
         OR r.room.id IN (SELECT rm.id FROM Room rm WHERE rm.user.id = :userId)
     """)
-    void deleteByUserOrUserRooms(@Param("userId") Long userId);
+    int deleteByUserOrUserRooms(@Param("userId") Long userId);
 
 
     void deleteAllByRoom(Room room);
@@ -59,4 +122,13 @@ List<RoomReview> findByRoomId(Long roomId);
     @Query("DELETE FROM RoomReview r WHERE r.room.user.id = :userId")
     void deleteByUserRooms(@Param("userId") Long userId);
 
+    @Query("SELECT DISTINCT r.room.location FROM RoomReview r WHERE r.user.id = :userId")
+    List<String> findReviewedLocationsByUserId(@Param("userId") Long userId);
+
+    interface RatingCount {
+        Long getRoomId();
+        Integer getRating();
+        Long getCount();
+    }
+
 }
@@ -0,0 +1,67 @@
+package roomy.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+import roomy.dto.room.RoomFilterDto;
+import roomy.entities.Room;
+
+import java.util.List;
+
+/**
+ * Composable filters for room listings. {@link #base} holds the filters shared by the
+ * results and every facet; {@link #matching} adds the faceted dimensions on top.
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    public static Specification<Room> base(RoomFilterDto filter) {
+        Specification<Room> spec = (room, query, cb) -> cb.conjunction();
+        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+            String pattern = "%" + filter.getLocation().trim().toLowerCase() + "%";
+            spec = spec.and((room, query, cb) -> cb.like(cb.lower(room.get("location")), pattern));
+        }
+        if (filter.getMinPrice() != null) {
+            spec = spec.and((room, query, cb) -> cb.greaterThanOrEqualTo(room.get("price"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and((room, query, cb) -> cb.lessThanOrEqualTo(room.get("price"), filter.getMaxPrice()));
+        }
+        if (filter.getAvailable() != null) {
+            spec = spec.and((room, query, cb) -> cb.equal(room.get("isAvailable"), filter.getAvailable()));
+        }
+        if (filter.getAvailableBy() != null) {
+            spec = spec.and((room, query, cb) -> cb.or(
+                    cb.isNull(room.get("availableFrom")),
+                    cb.lessThanOrEqualTo(room.get("availableFrom"), filter.getAvailableBy())));
+        }
+        return spec;
+    }
+
+    public static Specification<Room> matching(RoomFilterDto filter) {
+        Specification<Room> spec = base(filter);
+        if (isSet(filter.getRoomType())) {
+            List<String> types = upperCase(filter.getRoomType());
+            spec = spec.and((room, query, cb) -> room.get("roomType").in(types));
+        }
+        if (filter.getFurnished() != null) {
+            spec = spec.and((room, query, cb) -> cb.equal(room.get("furnished"), filter.getFurnished()));
+        }
+        if (isSet(filter.getGenderPreference())) {
+            List<String> genders = upperCase(filter.getGenderPreference());
+            spec = spec.and((room, query, cb) -> room.get("genderPreference").in(genders));
+        }
+        if (filter.getMinOccupancy() != null) {
+            spec = spec.and((room, query, cb) -> cb.greaterThanOrEqualTo(room.get("maxOccupancy"), filter.getMinOccupancy()));
+        }
+        return spec;
+    }
+
+    public static boolean isSet(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    public static List<String> upperCase(List<String> values) {
+        return values.stream().map(value -> value.trim().toUpperCase()).toList();
+    }
+}
@@ -8,15 +8,35 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import roomy.entities.Session;
-import roomy.entities.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface SessionRepository extends JpaRepository<Session, Long> {
-    List<Session> findByUser(User user);
 
-    Optional<Session> findByRefreshToken(String refreshToken);
+    @Query("SELECT s.user.id FROM Session s WHERE s.tokenHash = :tokenHash")
+    Optional<Long> findUserIdByTokenHash(@Param("tokenHash") String tokenHash);
+
+    List<Session> findByTokenHashIn(Collection<String> tokenHashes);
+
+    @Query("SELECT s.tokenHash FROM Session s WHERE s.user.id = :userId")
+    List<String> findTokenHashesByUserId(@Param("userId") Long userId);
+
+    // Keeps the user's `keep` most recently used sessions; the extra derived table is what lets
+    // MySQL read the table it is deleting from
+    @Modifying
+    @Query(value = """
+        DELETE FROM session
+        WHERE user_id = :userId
+          AND id NOT IN (SELECT id FROM (
+                SELECT id FROM session
+                WHERE user_id = :userId
+                ORDER BY last_used_at DESC, id DESC
+                LIMIT :keep) newest)
+    """, nativeQuery = true)
+    int deleteAllButMostRecent(@Param("userId") Long userId, @Param("keep") int keep);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM Session s WHERE s.user.id = :userId")
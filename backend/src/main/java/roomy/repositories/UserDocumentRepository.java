@@ -1,6 +1,9 @@
 package roomy.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import roomy.entities.User;
 import roomy.entities.UserDocument;
@@ -12,6 +15,13 @@ import java.util.Optional;
 public interface UserDocumentRepository extends JpaRepository<UserDocument, Long> {
     List<UserDocument> findByUser(User user);
     Optional<UserDocument> findByIdAndUser(Long id, User user);
-    List<UserDocument> findByUserId(Long userId);
-    void deleteByUserId(Long userId);
+    // Derived from the name this left-joins user and filters on the join, which needs a scan
+    @Query("SELECT d FROM UserDocument d WHERE d.user.id = :userId")
+    List<UserDocument> findByUserId(@Param("userId") Long userId);
+    @Modifying
+    @Query("DELETE FROM UserDocument d WHERE d.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT d.documentPath FROM UserDocument d WHERE d.user.id = :userId")
+    List<String> findDocumentPathsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -1,15 +1,39 @@
 package roomy.repositories;
 
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import roomy.entities.User;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Authentication paths need roles (and callers read the profile) after the lookup's session has closed
+    @EntityGraph(User.WITH_ROLES_AND_PROFILE)
     Optional<User> findByEmail(String email);
 
+    @EntityGraph(User.WITH_ROLES_AND_PROFILE)
+    Optional<User> findWithRolesAndProfileById(Long id);
+
+    // Leaves the profile unfetched, so the user it puts in the second-level cache keeps it lazy
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long id);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.profile")
+    List<User> findAllWithRolesAndProfile();
+
+    @Query("SELECT u.email FROM User u WHERE u.id = :userId")
+    Optional<String> findEmailById(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id = :userId", nativeQuery = true)
+    int deleteRolesByUserId(@Param("userId") Long userId);
+
 }
@@ -1,20 +1,38 @@
 package roomy.services;
 
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import roomy.config.UploadDirectoryConfig;
+import roomy.dto.JobStatusDto;
 import roomy.dto.UserDto;
 import roomy.dto.room.RoomDto;
 import roomy.entities.User;
 import roomy.entities.enums.Role;
+import roomy.events.RoomChangedEvent;
 import roomy.exceptions.ResourceNotFoundException;
 import roomy.repositories.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AdminService {
@@ -25,11 +43,21 @@ public class AdminService {
 
     private final ChatMessageRepository chatMessageRepository;
     private final RoomReviewRepository roomReviewRepository;
-    private final SessionRepository sessionRepository;
+    private final SessionService sessionService;
     private final UserDocumentRepository userDocumentRepository;
+    private final ProfileRepository profileRepository;
+    private final OtpService otpService;
+    private final TransactionTemplate transactionTemplate;
+    private final BackgroundJobService backgroundJobService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UploadDirectoryConfig uploadDirectoryConfig;
 
+    @Value("${admin.user-deletion.chunk-size:5000}")
+    private int deletionChunkSize;
+
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        List<User> users = userRepository.findAll();
+        List<User> users = userRepository.findAllWithRolesAndProfile();
         return users.stream()
                 .map(user -> modelMapper.map(user, UserDto.class))
                 .toList();
@@ -40,31 +68,109 @@ public class AdminService {
 
     @Transactional
     public void deleteUserById(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id " + userId));
-
-        // 0. Delete documents first (fix for your error)
-        userDocumentRepository.deleteByUserId(userId);
-
-        // 1. Delete sessions
-        sessionRepository.deleteByUserId(userId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id " + userId);
+        }
+        purgeUser(userId, new JobStatusDto());
+    }
 
-        // 2. Delete chat messages
-        chatMessageRepository.deleteBySenderIdOrReceiverId(userId, userId);
+    // Same deletion, but each chunk commits on its own so huge users don't hold one long transaction
+    public JobStatusDto startUserDeletionJob(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id " + userId);
+        }
+        return backgroundJobService.submit("USER_DELETION", job -> purgeUser(userId, job));
+    }
 
-        // 3. Delete room reviews written by the user
-        roomReviewRepository.deleteByUserId(userId);
+    /**
+     * Set-based deletion in foreign-key order; nothing is loaded into the persistence context.
+     * Every step goes through the transaction template, so it joins the caller's transaction
+     * when there is one and commits per step (per chunk for chat messages) when there isn't.
+     */
+    private void purgeUser(Long userId, JobStatusDto progress) {
+        List<String> uploadedFiles = new ArrayList<>();
+        Set<String> affectedLocalities = new HashSet<>();
+        List<Long> roomIds = new ArrayList<>();
+        String email = transactionTemplate.execute(status -> {
+            uploadedFiles.addAll(userDocumentRepository.findDocumentPathsByUserId(userId));
+            uploadedFiles.addAll(roomRepository.findImageUrlsByUserId(userId));
+            profileRepository.findProfileImageUrlByUserId(userId).ifPresent(uploadedFiles::add);
+            roomIds.addAll(roomRepository.findIdsByUserId(userId));
+            affectedLocalities.addAll(roomRepository.findLocationsByUserId(userId));
+            affectedLocalities.addAll(roomReviewRepository.findReviewedLocationsByUserId(userId));
+            return userRepository.findEmailById(userId).orElse(null);
+        });
+
+        progress.setStep("chat messages");
+        List<Long> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = chatMessageRepository.findIdsByUserId(userId, PageRequest.of(0, deletionChunkSize));
+                if (!ids.isEmpty()) {
+                    chatMessageRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids;
+            });
+            progress.addProcessed(chunk.size());
+        } while (chunk.size() == deletionChunkSize);
+
+        runStep(progress, "room reviews", () -> roomReviewRepository.deleteByUserOrUserRooms(userId));
+        runStep(progress, "room images", () -> roomRepository.deleteImageUrlsByUserId(userId));
+        runStep(progress, "rooms", () -> roomRepository.deleteByUserId(userId));
+        runStep(progress, "documents", () -> userDocumentRepository.deleteByUserId(userId));
+        runStep(progress, "sessions", () -> {
+            sessionService.deleteUserSessions(userId);
+            return 0;
+        });
+        runStep(progress, "profile", () -> profileRepository.deleteByUserId(userId));
+        if (email != null) {
+            runStep(progress, "otp records", () -> otpService.discardAll(email));
+        }
+        runStep(progress, "roles", () -> userRepository.deleteRolesByUserId(userId));
+        runStep(progress, "user", () -> {
+            userRepository.deleteAllByIdInBatch(List.of(userId));
+            return 1;
+        });
+
+        eventPublisher.publishEvent(RoomChangedEvent.forRooms(roomIds, affectedLocalities));
+        deleteFilesAfterCommit(uploadedFiles, progress);
+        progress.setStep("done");
+    }
 
-        // 4. Delete reviews on rooms owned by the user
-        roomReviewRepository.deleteByUserRooms(userId);
+    private void runStep(JobStatusDto progress, String step, Supplier<Integer> delete) {
+        progress.setStep(step);
+        Integer deleted = transactionTemplate.execute(status -> delete.get());
+        progress.addProcessed(deleted != null ? deleted : 0);
+    }
 
-        // 5. Delete rooms owned by the user
-        roomRepository.deleteByUserId(userId);
+    private void deleteFilesAfterCommit(List<String> fileUrls, JobStatusDto progress) {
+        Runnable cleanup = () -> fileUrls.forEach(url -> deleteUploadedFile(url, progress));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cleanup.run();
+                }
+            });
+        } else {
+            cleanup.run();
+        }
+    }
 
-        // 6. Finally delete the user
-        userRepository.delete(user);
+    private void deleteUploadedFile(String url, JobStatusDto progress) {
+        Path file = uploadDirectoryConfig.resolve(url);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete orphaned upload {}", file, e);
+            progress.addMessage("Could not delete " + url);
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<RoomDto> getAllRooms() {
         return roomRepository.findAll()
                 .stream()
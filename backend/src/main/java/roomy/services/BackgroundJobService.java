@@ -0,0 +1,101 @@
+package roomy.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import roomy.dto.JobStatusDto;
+import roomy.exceptions.ResourceNotFoundException;
+import roomy.exceptions.TooManyRequestsException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Runs long admin operations off the request thread and keeps their progress
+ * in memory so clients can poll a job status resource.
+ */
+@Slf4j
+@Service
+public class BackgroundJobService {
+
+    private static final long REJECTED_RETRY_AFTER_SECONDS = 30;
+
+    private final TaskExecutor executor;
+    private final Map<String, JobStatusDto> jobs = new ConcurrentHashMap<>();
+
+    @Value("${jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    public BackgroundJobService(@Qualifier("backgroundJobExecutor") TaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    public JobStatusDto submit(String type, Consumer<JobStatusDto> work) {
+        return submit(type, null, work);
+    }
+
+    public JobStatusDto submit(String type, Long ownerId, Consumer<JobStatusDto> work) {
+        JobStatusDto job = new JobStatusDto();
+        job.setId(UUID.randomUUID().toString());
+        job.setType(type);
+        job.setOwnerId(ownerId);
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job, type, work));
+        } catch (TaskRejectedException e) {
+            log.warn("Background job {} ({}) rejected: executor is saturated", job.getId(), type);
+            job.setError("Rejected: too many background jobs running");
+            job.setState(JobStatusDto.State.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            throw new TooManyRequestsException("Too many background jobs running, try again later",
+                    REJECTED_RETRY_AFTER_SECONDS);
+        }
+        return job;
+    }
+
+    private void run(JobStatusDto job, String type, Consumer<JobStatusDto> work) {
+        job.setState(JobStatusDto.State.RUNNING);
+        try {
+            work.accept(job);
+            job.setState(JobStatusDto.State.COMPLETED);
+        } catch (Exception e) {
+            log.error("Background job {} ({}) failed", job.getId(), type, e);
+            job.setError(e.getMessage());
+            job.setState(JobStatusDto.State.FAILED);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    public JobStatusDto getJob(String jobId) {
+        JobStatusDto job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    // Other users' jobs are reported as missing rather than forbidden
+    public JobStatusDto getJob(String jobId, Long ownerId) {
+        JobStatusDto job = getJob(jobId);
+        if (!Objects.equals(job.getOwnerId(), ownerId)) {
+            throw new ResourceNotFoundException("Job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.prune-interval-ms:600000}")
+    public void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -2,6 +2,7 @@ package roomy.services;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import roomy.dto.ChatMessageDto;
 import roomy.dto.RecentChatDto;
 import roomy.entities.ChatMessage;
@@ -38,6 +39,7 @@ public class ChatService {
         return chatRepository.save(message);
     }
 
+    @Transactional(readOnly = true)
     public List<ChatMessage> getConversation(Long senderId, Long receiverId) {
         List<ChatMessage> messages1 = chatRepository.findBySenderIdAndReceiverIdOrderByTimestampAsc(senderId, receiverId);
         List<ChatMessage> messages2 = chatRepository.findBySenderIdAndReceiverIdOrderByTimestampAsc(receiverId, senderId);
@@ -47,6 +49,7 @@ public class ChatService {
     }
 
 
+    @Transactional(readOnly = true)
     public List<User> getChatUsers(Long userId) {
         List<User> receivers = chatRepository.findReceivers(userId);
         List<User> senders = chatRepository.findSenders(userId);
@@ -58,43 +61,28 @@ public class ChatService {
         return new ArrayList<>(users);
     }
 
+    @Transactional(readOnly = true)
     public List<RecentChatDto> getRecentChats(Long loginUserId) {
-        List<ChatMessage> allChats = chatRepository.findAllChatsOfUser(loginUserId);
-
-        // ✅ Collect all unique other user IDs
-        Set<Long> otherUserIds = allChats.stream()
-                .map(chat -> chat.getSender().getId().equals(loginUserId)
-                        ? chat.getReceiver().getId()
-                        : chat.getSender().getId())
-                .collect(Collectors.toSet());
-
-        List<RecentChatDto> recentChats = new ArrayList<>();
-
-        for (Long otherUserId : otherUserIds) {
-            ChatMessage lastMessage = chatRepository
-                    .findTopBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampDesc(
-                            loginUserId, otherUserId,
-                            otherUserId, loginUserId
-                    );
-
-            userRepository.findById(otherUserId).ifPresent(user -> {
-                // ✅ Fetch profile automatically because of EAGER
-                String profileImage = (user.getProfile() != null)
-                        ? user.getProfile().getProfileImageUrl()
-                        : null;
-
-                System.out.println(profileImage);
-                System.out.println(user.getProfile());
-
-                recentChats.add(RecentChatDto.builder()
-                        .userId(user.getId())
-                        .name(user.getName())
-                        .profileImageUrl(profileImage)
-                        .lastMessage(lastMessage != null ? lastMessage.getContent() : null)
-                        .lastMessageTime(lastMessage != null ? lastMessage.getTimestamp() : null)
-                        .build());
-            });
+        // ✅ Latest message time per other user, from both directions of the conversation
+        Map<Long, LocalDateTime> lastMessageTimes = new HashMap<>();
+        for (ChatMessageRepository.ConversationHead head : chatRepository.findConversationHeads(loginUserId)) {
+            Long otherUserId = head.getSenderId().equals(loginUserId) ? head.getReceiverId() : head.getSenderId();
+            lastMessageTimes.merge(otherUserId, head.getLastMessageTime(), (a, b) -> a.isAfter(b) ? a : b);
         }
+        if (lastMessageTimes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // ✅ Message, other user and profile image in one query; the timestamp list can also match an
+        // older message of another conversation, so keep one row per user at that user's latest time
+        Map<Long, RecentChatDto> latest = new LinkedHashMap<>();
+        for (RecentChatDto chat : chatRepository.findRecentChats(loginUserId, lastMessageTimes.keySet(),
+                new HashSet<>(lastMessageTimes.values()))) {
+            if (chat.getLastMessageTime().equals(lastMessageTimes.get(chat.getUserId()))) {
+                latest.putIfAbsent(chat.getUserId(), chat);
+            }
+        }
+        List<RecentChatDto> recentChats = new ArrayList<>(latest.values());
 
         // ✅ Sort by last message time
         recentChats.sort(Comparator.comparing(
@@ -0,0 +1,74 @@
+package roomy.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import roomy.entities.OtpVerification;
+import roomy.entities.enums.OtpPurpose;
+import roomy.repositories.OtpVerificationRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps codes in otp_verification so every node sees the same code and attempt count.
+ * Enable with {@code otp.store=database}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "otp.store", havingValue = "database")
+public class DatabaseOtpStore implements OtpStore {
+
+    private final OtpVerificationRepository otpRepo;
+
+    @Override
+    @Transactional
+    public void save(OtpPurpose purpose, String email, String otp, LocalDateTime expiresAt) {
+        otpRepo.deleteByEmailAndPurpose(email, purpose);
+
+        OtpVerification record = new OtpVerification();
+        record.setEmail(email);
+        record.setPurpose(purpose);
+        record.setOtp(otp);
+        record.setExpiryTime(expiresAt);
+        otpRepo.save(record);
+    }
+
+    @Override
+    @Transactional
+    public Result verify(OtpPurpose purpose, String email, String candidate, int maxAttempts, LocalDateTime now) {
+        Optional<OtpVerification> found = otpRepo.findForUpdateByEmailAndPurpose(email, purpose);
+        if (found.isEmpty()) {
+            return Result.INVALID;
+        }
+
+        OtpVerification record = found.get();
+        if (!record.getExpiryTime().isAfter(now)) {
+            otpRepo.delete(record);
+            return Result.EXPIRED;
+        }
+        if (OtpStore.matches(record.getOtp(), candidate)) {
+            otpRepo.delete(record);
+            return Result.VERIFIED;
+        }
+        record.setFailedAttempts(record.getFailedAttempts() + 1);
+        if (record.getFailedAttempts() >= maxAttempts) {
+            otpRepo.delete(record);
+            return Result.TOO_MANY_ATTEMPTS;
+        }
+        return Result.INVALID;
+    }
+
+    @Override
+    @Transactional
+    public int removeAll(String email) {
+        return otpRepo.deleteByEmail(email);
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired(LocalDateTime now) {
+        return otpRepo.deleteExpiredBefore(now);
+    }
+}
@@ -1,11 +1,15 @@
 package roomy.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
@@ -13,6 +17,7 @@ public class EmailService {
 
 
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
 
     // Send OTP email
     public void sendOtpEmail(String toEmail, String otp) {
@@ -20,7 +25,7 @@ public class EmailService {
         message.setTo(toEmail);
         message.setSubject("Verify your email with OTP");
         message.setText("Your OTP is: " + otp);
-        mailSender.send(message); // use final mailSender
+        send("otp", message);
     }
 
     // Send general email
@@ -30,11 +35,27 @@ public class EmailService {
             message.setTo(to);
             message.setSubject(subject);
             message.setText(body);
-            mailSender.send(message); // use final mailSender
-            System.out.println("Email sent to: " + to);
+            send("general", message);
+            log.info("Email sent to {}", to);
         } catch (Exception e) {
-            System.err.println(" Failed to send email to: " + to);
-            e.printStackTrace();
+            log.error("Failed to send email to {}", to, e);
+        }
+    }
+
+    // mail.send timer, tagged with outcome so failures are counted alongside latency
+    private void send(String kind, SimpleMailMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            mailSender.send(message);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("mail.send")
+                    .tag("kind", kind)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 }
\ No newline at end of file
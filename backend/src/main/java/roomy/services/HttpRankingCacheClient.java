@@ -0,0 +1,34 @@
+package roomy.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+@Service
+@ConditionalOnProperty(name = "ranking.invalidation.mode", havingValue = "http", matchIfMissing = true)
+public class HttpRankingCacheClient implements RankingCacheClient {
+
+    private final RestClient restClient;
+
+    // Bounded so a hung ranking service can't outlast the outbox claim on the rows being sent
+    public HttpRankingCacheClient(RestClient.Builder builder,
+                                  @Value("${ranking.base-url:http://localhost:5000}") String baseUrl,
+                                  @Value("${ranking.timeout:2s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = builder.baseUrl(baseUrl).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void invalidateLocality(String locality) {
+        restClient.post()
+                .uri(uri -> uri.path("/invalidate-cache").queryParam("location", locality).build())
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,74 @@
+package roomy.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import roomy.entities.enums.OtpPurpose;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private record Entry(String otp, LocalDateTime expiresAt, int failedAttempts) {
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(OtpPurpose purpose, String email, String otp, LocalDateTime expiresAt) {
+        entries.put(key(purpose, email), new Entry(otp, expiresAt, 0));
+    }
+
+    @Override
+    public Result verify(OtpPurpose purpose, String email, String candidate, int maxAttempts, LocalDateTime now) {
+        AtomicReference<Result> result = new AtomicReference<>(Result.INVALID);
+        // compute() runs under the bin lock, so concurrent guesses are counted one at a time
+        entries.computeIfPresent(key(purpose, email), (key, entry) -> {
+            if (!entry.expiresAt().isAfter(now)) {
+                result.set(Result.EXPIRED);
+                return null;
+            }
+            if (OtpStore.matches(entry.otp(), candidate)) {
+                result.set(Result.VERIFIED);
+                return null;
+            }
+            int failedAttempts = entry.failedAttempts() + 1;
+            if (failedAttempts >= maxAttempts) {
+                result.set(Result.TOO_MANY_ATTEMPTS);
+                return null;
+            }
+            return new Entry(entry.otp(), entry.expiresAt(), failedAttempts);
+        });
+        return result.get();
+    }
+
+    @Override
+    public int removeAll(String email) {
+        int removed = 0;
+        for (OtpPurpose purpose : OtpPurpose.values()) {
+            removed += entries.remove(key(purpose, email)) != null ? 1 : 0;
+        }
+        return removed;
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime now) {
+        AtomicInteger removed = new AtomicInteger();
+        entries.values().removeIf(entry -> {
+            boolean expired = !entry.expiresAt().isAfter(now);
+            if (expired) {
+                removed.incrementAndGet();
+            }
+            return expired;
+        });
+        return removed.get();
+    }
+
+    private static String key(OtpPurpose purpose, String email) {
+        return purpose + ":" + email;
+    }
+}
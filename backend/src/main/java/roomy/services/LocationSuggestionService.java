@@ -0,0 +1,143 @@
+package roomy.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import roomy.dto.room.LocationSuggestionDto;
+import roomy.events.RoomChangedEvent;
+import roomy.repositories.RoomRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Location typeahead answered from memory. Distinct room locations are normalized
+ * (trimmed, lowercased, whitespace collapsed) and every word start is entered into a
+ * sorted array, so "kora" and "5th bl" both reach "5th Block, Koramangala". Lookups are a
+ * binary search plus a short scan; the snapshot is rebuilt on a schedule, and only
+ * when rooms have changed since the last build.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocationSuggestionService {
+
+    private static final int MAX_LIMIT = 20;
+    // Upper bound on entries examined for very short prefixes
+    private static final int MAX_SCAN = 5000;
+
+    private final RoomRepository roomRepository;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public List<LocationSuggestionDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return snapshot.lookup(key, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void markStale(RoomChangedEvent event) {
+        stale.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${room-suggest.refresh-interval-ms:60000}")
+    public void refresh() {
+        // Cleared before reading so a change committed meanwhile marks it stale again
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+        List<RoomRepository.LocationCount> rows;
+        try {
+            rows = roomRepository.countByLocation();
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        }
+        Map<String, String> display = new HashMap<>();
+        Map<String, Long> counts = new HashMap<>();
+        Map<String, Long> displayCounts = new HashMap<>();
+        for (RoomRepository.LocationCount row : rows) {
+            String key = normalize(row.getLocation());
+            if (key.isEmpty()) {
+                continue;
+            }
+            counts.merge(key, row.getCount(), Long::sum);
+            // Show the spelling most rooms use
+            if (row.getCount() > displayCounts.getOrDefault(key, 0L)) {
+                displayCounts.put(key, row.getCount());
+                display.put(key, row.getLocation().trim());
+            }
+        }
+        snapshot = Snapshot.build(display, counts);
+        log.debug("Location suggestions refreshed with {} locations", counts.size());
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    private record Snapshot(String[] keys, int[] locationIndex, String[] locations, long[] counts) {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new String[0], new long[0]);
+
+        static Snapshot build(Map<String, String> display, Map<String, Long> counts) {
+            List<String> normalized = new ArrayList<>(counts.keySet());
+            String[] locations = new String[normalized.size()];
+            long[] roomCounts = new long[normalized.size()];
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+            for (int i = 0; i < normalized.size(); i++) {
+                String key = normalized.get(i);
+                locations[i] = display.get(key);
+                roomCounts[i] = counts.get(key);
+                for (int start = 0; start < key.length(); start++) {
+                    if (start == 0 || !Character.isLetterOrDigit(key.charAt(start - 1)) && Character.isLetterOrDigit(key.charAt(start))) {
+                        entries.add(Map.entry(key.substring(start), i));
+                    }
+                }
+            }
+            entries.sort(Map.Entry.comparingByKey());
+
+            String[] keys = new String[entries.size()];
+            int[] locationIndex = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                keys[i] = entries.get(i).getKey();
+                locationIndex[i] = entries.get(i).getValue();
+            }
+            return new Snapshot(keys, locationIndex, locations, roomCounts);
+        }
+
+        List<LocationSuggestionDto> lookup(String prefix, int limit) {
+            int from = Arrays.binarySearch(keys, prefix);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            // Several word starts of one location can match; keep each location once
+            Set<Integer> matched = new LinkedHashSet<>();
+            for (int i = from; i < keys.length && i - from < MAX_SCAN && keys[i].startsWith(prefix); i++) {
+                matched.add(locationIndex[i]);
+            }
+            return matched.stream()
+                    .sorted(Comparator.comparingLong((Integer index) -> counts[index]).reversed()
+                            .thenComparing(index -> locations[index]))
+                    .limit(limit)
+                    .map(index -> new LocationSuggestionDto(locations[index], counts[index]))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package roomy.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local stand-in for the ranking service: records invalidations instead of calling Flask.
+ * Enable with {@code ranking.invalidation.mode=log}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "ranking.invalidation.mode", havingValue = "log")
+public class LoggingRankingCacheClient implements RankingCacheClient {
+
+    @Override
+    public void invalidateLocality(String locality) {
+        log.info("Ranking cache invalidated for locality '{}'", locality);
+    }
+}
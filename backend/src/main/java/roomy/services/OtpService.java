@@ -1,50 +1,51 @@
 package roomy.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import roomy.entities.OtpVerification;
-import roomy.entities.User;
-import roomy.exceptions.ResourceNotFoundException;
-import roomy.repositories.OtpVerificationRepository;
 import org.springframework.beans.factory.annotation.Value;
-import roomy.repositories.UserRepository;
+import roomy.entities.enums.OtpPurpose;
 
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Locale;
 
 
+/**
+ * The single OTP subsystem for sign-up verification and password resets. Codes live in the
+ * configured {@link OtpStore}; each allows {@code otp.max-attempts} guesses and a scheduled
+ * sweep drops the ones that expired unused.
+ */
+@Slf4j
 @Service
 @EnableAsync
 @RequiredArgsConstructor
 public class OtpService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final JavaMailSender mailSender;
-    private final OtpVerificationRepository otpRepo;
-    private final UserRepository userRepository;
+    private final OtpStore otpStore;
+    private final MeterRegistry meterRegistry;
 
     @Value("${otp.expiry.minutes:5}")
     private long expiryMinutes;
 
-    public void sendOtp(String email) {
-        String otp = String.format("%06d", ThreadLocalRandom.current().nextInt(0, 1000000));
-        otpRepo.findByEmail(email).ifPresent(otpRepo::delete);
-
-        OtpVerification otpVerification = new OtpVerification();
+    @Value("${otp.password-reset.expiry.minutes:10}")
+    private long passwordResetExpiryMinutes;
 
-        otpVerification.setEmail(email);
-        otpVerification.setOtp(otp);
-        otpVerification.setExpiryTime(LocalDateTime.now().plusMinutes(expiryMinutes));
-        otpVerification.setVerified(false);
-
-        otpRepo.save(otpVerification);
+    @Value("${otp.max-attempts:5}")
+    private int maxAttempts;
 
+    public void sendOtp(String email) {
+        String otp = issue(OtpPurpose.EMAIL_VERIFICATION, email);
         sendEmail(email, otp);
     }
 
@@ -57,19 +58,35 @@ public class OtpService {
     }
 
     public boolean verifyOtp(String email, String otp) {
+        return verify(OtpPurpose.EMAIL_VERIFICATION, email, otp) == OtpStore.Result.VERIFIED;
+    }
 
+    public String issue(OtpPurpose purpose, String email) {
+        String otp = String.format("%06d", RANDOM.nextInt(1_000_000));
+        long minutes = purpose == OtpPurpose.PASSWORD_RESET ? passwordResetExpiryMinutes : expiryMinutes;
+        otpStore.save(purpose, normalize(email), otp, LocalDateTime.now().plusMinutes(minutes));
+        return otp;
+    }
 
-        return otpRepo.findByEmail(email)
-                .filter(record -> record.getOtp().equals(otp))
-                .filter(record -> !record.isVerified())
-                .filter(record -> record.getExpiryTime().isAfter(LocalDateTime.now()))
-                .map(record -> {
-                    record.setVerified(true);
-                    otpRepo.save(record);
-                    return true;
-                })
-                .orElse(false);
+    public OtpStore.Result verify(OtpPurpose purpose, String email, String otp) {
+        OtpStore.Result result = otpStore.verify(purpose, normalize(email), otp, maxAttempts, LocalDateTime.now());
+        meterRegistry.counter("otp.verifications", "purpose", purpose.name(), "result", result.name()).increment();
+        return result;
+    }
 
+    public int discardAll(String email) {
+        return otpStore.removeAll(normalize(email));
+    }
+
+    @Scheduled(fixedDelayString = "${otp.sweep-interval-ms:60000}")
+    public void purgeExpired() {
+        int purged = otpStore.purgeExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired OTPs", purged);
+        }
+    }
 
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
     }
 }
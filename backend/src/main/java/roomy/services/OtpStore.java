@@ -0,0 +1,31 @@
+package roomy.services;
+
+import roomy.entities.enums.OtpPurpose;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+/**
+ * Holds one outstanding code per (purpose, email). Selected with {@code otp.store}:
+ * {@code memory} (default, single node) or {@code database} (shared across nodes).
+ */
+public interface OtpStore {
+
+    enum Result { VERIFIED, INVALID, EXPIRED, TOO_MANY_ATTEMPTS }
+
+    // Replaces any code already issued for the same purpose and email
+    void save(OtpPurpose purpose, String email, String otp, LocalDateTime expiresAt);
+
+    // A verified, expired or exhausted code is consumed; a wrong guess only counts an attempt
+    Result verify(OtpPurpose purpose, String email, String candidate, int maxAttempts, LocalDateTime now);
+
+    int removeAll(String email);
+
+    int purgeExpired(LocalDateTime now);
+
+    static boolean matches(String expected, String candidate) {
+        return candidate != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8), candidate.getBytes(StandardCharsets.UTF_8));
+    }
+}
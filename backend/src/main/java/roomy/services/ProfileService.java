@@ -28,6 +28,7 @@ public class ProfileService {
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final UploadMetrics uploadMetrics;
     private final String PROFILE_IMAGE_DIR = "uploads/profile-images/";
 
     public ProfileDto createOrUpdateProfile(Long userId, ProfileDto profileDto) {
@@ -138,7 +139,9 @@ public class ProfileService {
         // 3. Save file with unique name
         String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
         Path filePath = uploadPath.resolve(fileName);
+        long start = System.nanoTime();
         Files.write(filePath, file.getBytes());
+        uploadMetrics.record("profile-image", file.getSize(), start);
 
         // 4. Update profile image URL
         profile.setProfileImageUrl("/uploads/profile-images/" + fileName);
@@ -0,0 +1,10 @@
+package roomy.services;
+
+/**
+ * Talks to the ranking service's cache. Kept behind an interface so the outbox
+ * dispatcher can run against a local stub when the Flask service is not up.
+ */
+public interface RankingCacheClient {
+
+    void invalidateLocality(String locality);
+}
@@ -0,0 +1,158 @@
+package roomy.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import roomy.entities.RankingOutboxEvent;
+import roomy.events.RoomChangedEvent;
+import roomy.repositories.RankingOutboxEventRepository;
+import roomy.repositories.RoomRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for ranking cache invalidation. Room and review mutations
+ * record the affected localities in the same transaction as the change; a scheduled
+ * dispatcher forwards them to the ranking service and retries on failure. The
+ * dispatcher claims a batch in a short transaction and makes the HTTP calls after it
+ * commits, so no connection or row lock is held while the ranking service responds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RankingOutboxService {
+
+    private final RankingOutboxEventRepository outboxRepository;
+    private final RankingCacheClient rankingCacheClient;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ranking.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ranking.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${ranking.outbox.retention-days:7}")
+    private int retentionDays;
+
+    // Longer than a batch of calls can take; a dispatcher that dies mid-batch frees its rows after this
+    @Value("${ranking.outbox.claim-timeout:10m}")
+    private Duration claimTimeout;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (event.getLocalities().isEmpty()) {
+            outboxRepository.saveAll(event.getRoomIds().stream()
+                    .map(roomId -> RankingOutboxEvent.builder().roomId(roomId).build())
+                    .toList());
+            return;
+        }
+
+        List<RankingOutboxEvent> rows = event.getLocalities().stream()
+                .filter(Objects::nonNull)
+                .map(RankingOutboxService::normalize)
+                .filter(locality -> !locality.isEmpty())
+                .distinct()
+                .map(locality -> RankingOutboxEvent.builder().locality(locality).build())
+                .toList();
+
+        outboxRepository.saveAll(rows);
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.outbox.dispatch-interval-ms:5000}")
+    public void dispatchPending() {
+        List<RankingOutboxEvent> pending = transactionTemplate.execute(status -> claimBatch());
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> resolved = resolveLocalities(pending);
+        List<Long> unresolvable = pending.stream()
+                .filter(event -> localityOf(event, resolved) == null)
+                .map(RankingOutboxEvent::getId)
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+        if (!unresolvable.isEmpty()) {
+            // Room deleted since; its delete event already carried the locality
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markDispatched(unresolvable, now));
+        }
+
+        // Many mutations on one locality collapse into a single invalidation call
+        Map<String, List<Long>> idsByLocality = pending.stream()
+                .filter(event -> localityOf(event, resolved) != null)
+                .collect(Collectors.groupingBy(event -> localityOf(event, resolved), LinkedHashMap::new,
+                        Collectors.mapping(RankingOutboxEvent::getId, Collectors.toList())));
+
+        idsByLocality.forEach((locality, ids) -> {
+            try {
+                rankingCacheClient.invalidateLocality(locality);
+            } catch (Exception e) {
+                log.warn("Ranking cache invalidation failed for locality '{}': {}", locality, e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.markFailed(ids, truncate(e.getMessage())));
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markDispatched(ids, now));
+        });
+    }
+
+    private List<RankingOutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidates = outboxRepository.findClaimable(maxAttempts, now, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        outboxRepository.claim(candidates, token, now.plus(claimTimeout), now);
+        return outboxRepository.findByClaimToken(token);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${ranking.outbox.purge-cron:0 0 3 * * *}")
+    public void purgeDispatched() {
+        outboxRepository.deleteDispatchedBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    private Map<Long, String> resolveLocalities(List<RankingOutboxEvent> pending) {
+        Set<Long> roomIds = pending.stream()
+                .filter(event -> event.getLocality() == null && event.getRoomId() != null)
+                .map(RankingOutboxEvent::getRoomId)
+                .collect(Collectors.toSet());
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+        return roomRepository.findLocationsByIdIn(roomIds).stream()
+                .filter(room -> room.getLocation() != null)
+                .collect(Collectors.toMap(RoomRepository.RoomLocation::getId, room -> normalize(room.getLocation())));
+    }
+
+    private static String localityOf(RankingOutboxEvent event, Map<Long, String> resolved) {
+        return event.getLocality() != null ? event.getLocality() : resolved.get(event.getRoomId());
+    }
+
+    static String normalize(String locality) {
+        return locality.trim().toLowerCase();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
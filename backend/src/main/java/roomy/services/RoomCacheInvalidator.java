@@ -0,0 +1,30 @@
+package roomy.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import roomy.config.CacheConfig;
+import roomy.events.RoomChangedEvent;
+
+/**
+ * Evicts cached room responses once a room or review change has committed. Searches
+ * match on substrings of the location, so a change can surface under any cached
+ * search key and every list entry is dropped; room lookups are evicted by id, also for
+ * bulk changes, which carry the ids of every room they touched.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        Cache byId = cacheManager.getCache(CacheConfig.ROOM_BY_ID);
+        event.getRoomIds().forEach(byId::evict);
+        cacheManager.getCache(CacheConfig.ROOM_LISTS).clear();
+    }
+}
@@ -0,0 +1,262 @@
+package roomy.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import roomy.dto.JobStatusDto;
+import roomy.dto.room.RoomDto;
+import roomy.entities.Room;
+import roomy.entities.User;
+import roomy.entities.enums.RoomStatus;
+import roomy.events.RoomChangedEvent;
+import roomy.exceptions.BadRequestException;
+import roomy.repositories.RoomRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk room import for agencies. The upload is spooled to a temp file and parsed row by row
+ * in a background job, so neither the request nor the job holds the whole file in memory.
+ * Valid rows are saved in batches, one transaction per batch; invalid rows are skipped and
+ * reported on the job status.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomImportService {
+
+    public static final String JOB_TYPE = "ROOM_IMPORT";
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    public enum Format { CSV, NDJSON }
+
+    private final RoomRepository roomRepository;
+    private final ModelMapper modelMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BackgroundJobService backgroundJobService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${room-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${room-import.max-size:100MB}")
+    private DataSize maxSize;
+
+    public JobStatusDto startImport(InputStream body, Format format, User owner) throws IOException {
+        Path file = spool(body, format);
+        try {
+            return backgroundJobService.submit(JOB_TYPE, owner.getId(), job -> {
+                try {
+                    importFile(file, format, owner, job);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    deleteQuietly(file);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The job never ran, so nothing else will remove the spooled file
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private Path spool(InputStream body, Format format) throws IOException {
+        Path file = Files.createTempFile("room-import-", "." + format.name().toLowerCase());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxSize.toBytes()) {
+                    throw new BadRequestException("Import file exceeds the limit of " + maxSize.toMegabytes() + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void importFile(Path file, Format format, User owner, JobStatusDto job) throws IOException {
+        Batch batch = new Batch(owner, job);
+        job.setStep("importing");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                readCsv(reader, batch);
+            } else {
+                readNdjson(reader, batch);
+            }
+            batch.flush();
+            job.setStep(batch.summary());
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        String line;
+        int row = 0;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                batch.reject(row, "malformed JSON");
+                continue;
+            }
+            batch.add(row, node);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> rows = CSV_MAPPER.readerForMapOf(String.class)
+                .with(schema)
+                .readValues(reader)) {
+            int row = 1;
+            while (rows.hasNextValue()) {
+                row++;
+                batch.add(row, toNode(rows.nextValue()));
+            }
+        }
+    }
+
+    // CSV cells are all text; blank cells are left unset and image URLs are ';'-separated
+    private ObjectNode toNode(Map<String, String> cells) {
+        ObjectNode node = objectMapper.createObjectNode();
+        cells.forEach((column, value) -> {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            if ("imageUrls".equals(column)) {
+                ArrayNode urls = node.putArray(column);
+                for (String url : value.split(";")) {
+                    if (!url.isBlank()) {
+                        urls.add(url.trim());
+                    }
+                }
+            } else {
+                node.put(column, value.trim());
+            }
+        });
+        return node;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private class Batch {
+
+        private final User owner;
+        private final JobStatusDto job;
+        private final List<Room> rooms = new ArrayList<>();
+        private int imported;
+        private int rejected;
+
+        Batch(User owner, JobStatusDto job) {
+            this.owner = owner;
+            this.job = job;
+        }
+
+        void add(int row, JsonNode node) {
+            job.addProcessed(1);
+            RoomDto dto;
+            try {
+                dto = objectMapper.treeToValue(node, RoomDto.class);
+            } catch (JsonProcessingException e) {
+                reject(row, e.getOriginalMessage());
+                return;
+            }
+            Set<ConstraintViolation<RoomDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            dto.setId(null);
+            dto.setUserId(null);
+            dto.setUserName(null);
+            Room room = modelMapper.map(dto, Room.class);
+            room.setUser(owner);
+            room.setCreatedAt(LocalDateTime.now());
+            if (room.getStatus() == null) {
+                room.setStatus(RoomStatus.AVAILABLE);
+            }
+            rooms.add(room);
+            if (rooms.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String reason) {
+            rejected++;
+            job.addMessage("Row " + row + ": " + reason);
+        }
+
+        void flush() {
+            if (rooms.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                roomRepository.saveAll(rooms);
+                // One change per batch, published in its transaction: the outbox rows commit with
+                // the rooms, and caches and the search index pick up just these rooms after it
+                eventPublisher.publishEvent(RoomChangedEvent.forRooms(
+                        rooms.stream().map(Room::getId).toList(),
+                        rooms.stream().map(Room::getLocation).collect(Collectors.toSet())));
+            });
+            imported += rooms.size();
+            rooms.clear();
+            job.setStep(summary());
+        }
+
+        String summary() {
+            return "Imported " + imported + " rooms, rejected " + rejected + " rows";
+        }
+    }
+}
@@ -1,20 +1,39 @@
 package roomy.services;
 
 import lombok.Builder;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import roomy.dto.room.ReviewPageDto;
+import roomy.dto.room.ReviewSort;
+import roomy.dto.room.ReviewStatsDto;
 import roomy.dto.room.RoomReviewDto;
 import roomy.dto.room.RoomReviewRequestDto;
 import roomy.entities.Room;
 import roomy.entities.RoomReview;
 import roomy.entities.User;
+import roomy.events.RoomChangedEvent;
+import roomy.exceptions.BadRequestException;
+import roomy.exceptions.ResourceConflictException;
 import roomy.exceptions.ResourceNotFoundException;
 import roomy.repositories.RoomRepository;
 import roomy.repositories.RoomReviewRepository;
 import roomy.repositories.UserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +44,9 @@ public class RoomReviewService {
     private final RoomReviewRepository reviewRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 100;
 //
 //    public RoomReviewDto addReview(RoomReviewRequestDto request) {
 //
@@ -51,15 +73,10 @@ public class RoomReviewService {
 //        return mapToDto(saved);
 //    }
 
+    // One INSERT: the (room_id, user_id) unique key rejects duplicates, the room FK rejects unknown rooms
+    @Transactional
     public RoomReviewDto addReview(RoomReviewRequestDto request, User user) {
-
-        // ✅ Check if user already reviewed this room
-        if (reviewRepository.existsByRoomIdAndUserId(request.getRoomId(), user.getId())) {
-            throw new RuntimeException("You have already reviewed this room");
-        }
-
-        Room room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new RuntimeException("Room not found"));
+        Room room = roomRepository.getReferenceById(request.getRoomId());
 
         RoomReview review = RoomReview.builder()
                 .room(room)
@@ -68,11 +85,36 @@ public class RoomReviewService {
                 .reviewComment(request.getReviewComment())
                 .build();
 
-        RoomReview saved = reviewRepository.save(review);
+        RoomReview saved;
+        try {
+            saved = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, RoomReview.UNIQUE_ROOM_USER)) {
+                throw new ResourceConflictException("You have already reviewed this room");
+            }
+            if (violates(e, RoomReview.ROOM_FOREIGN_KEY)) {
+                throw new ResourceNotFoundException("Room not found with id: " + request.getRoomId());
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(RoomChangedEvent.forRoom(request.getRoomId()));
 
         return mapToDto(saved);
     }
 
+    // Hibernate's H2 dialect clips the first character of a batched statement's constraint name,
+    // so the driver's own message is checked too
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(constraint)) {
+                return true;
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(constraint);
+    }
+
     private RoomReviewDto mapToDto(RoomReview review) {
         RoomReviewDto dto = new RoomReviewDto();
         dto.setId(review.getId());
@@ -87,11 +129,76 @@ public class RoomReviewService {
 
 
 
-    public List<RoomReviewDto> getReviewsForRoom(Long roomId) {
-        return reviewRepository.findByRoomId(roomId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ReviewPageDto getReviewsForRoom(Long roomId, ReviewSort sort, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // One extra row tells us whether another page exists without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        String[] after = decodeCursor(cursor, sort);
+
+        List<RoomReviewDto> rows = switch (sort) {
+            case RECENT -> after == null
+                    ? reviewRepository.findPageByRecency(roomId, limit)
+                    : reviewRepository.findPageByRecencyAfter(roomId, LocalDateTime.parse(after[1]), Long.valueOf(after[2]), limit);
+            case RATING -> after == null
+                    ? reviewRepository.findPageByRating(roomId, limit)
+                    : reviewRepository.findPageByRatingAfter(roomId, Integer.parseInt(after[1]), Long.valueOf(after[2]), limit);
+        };
+
+        if (rows.size() <= pageSize) {
+            return new ReviewPageDto(rows, null);
+        }
+
+        List<RoomReviewDto> page = new ArrayList<>(rows.subList(0, pageSize));
+        RoomReviewDto last = page.getLast();
+        String sortValue = sort == ReviewSort.RECENT ? last.getCreatedAt().toString() : String.valueOf(last.getRating());
+        return new ReviewPageDto(page, encodeCursor(sort, sortValue, last.getId()));
+    }
+
+    private static String encodeCursor(ReviewSort sort, String sortValue, Long id) {
+        String raw = sort.name() + "|" + sortValue + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, ReviewSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new BadRequestException("Cursor does not match sort " + sort);
+            }
+            if (sort == ReviewSort.RECENT) {
+                LocalDateTime.parse(parts[1]);
+            } else {
+                Integer.parseInt(parts[1]);
+            }
+            Long.parseLong(parts[2]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid review cursor");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewStatsDto getReviewStats(Long roomId) {
+        return getReviewStats(List.of(roomId)).get(roomId);
+    }
+
+    // Single grouped query for any number of rooms; rooms without reviews get empty stats
+    @Transactional(readOnly = true)
+    public Map<Long, ReviewStatsDto> getReviewStats(Collection<Long> roomIds) {
+        Map<Long, ReviewStatsDto> stats = new HashMap<>();
+        roomIds.forEach(id -> stats.put(id, new ReviewStatsDto()));
+        if (roomIds.isEmpty()) {
+            return stats;
+        }
+
+        for (RoomReviewRepository.RatingCount row : reviewRepository.countRatingsByRoomIds(roomIds)) {
+            stats.get(row.getRoomId()).addRatingCount(row.getRating(), row.getCount());
+        }
+        return stats;
     }
 //
 //    private RoomReviewDto mapToDto(RoomReview review) {
@@ -0,0 +1,69 @@
+package roomy.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import roomy.dto.room.RoomWithReviewsDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for room searches: while one request computes a search, identical
+ * requests wait for its result instead of running the same queries again.
+ * room.search.requests{role=follower} over the total is the collapse ratio.
+ */
+@Component
+public class RoomSearchCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<List<RoomWithReviewsDto>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public RoomSearchCoalescer(MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("room.search.requests").tag("role", "leader").register(meterRegistry);
+        this.followers = Counter.builder("room.search.requests").tag("role", "follower").register(meterRegistry);
+        Gauge.builder("room.search.inflight", inFlight, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    public List<RoomWithReviewsDto> execute(String key, Supplier<List<RoomWithReviewsDto>> search) {
+        CompletableFuture<List<RoomWithReviewsDto>> own = new CompletableFuture<>();
+        CompletableFuture<List<RoomWithReviewsDto>> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            followers.increment();
+            return await(running);
+        }
+
+        leaders.increment();
+        try {
+            List<RoomWithReviewsDto> result = search.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Later requests start a fresh search; only the ones that overlapped share this result
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static List<RoomWithReviewsDto> await(CompletableFuture<List<RoomWithReviewsDto>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
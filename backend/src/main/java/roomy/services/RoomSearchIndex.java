@@ -0,0 +1,370 @@
+package roomy.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import roomy.dto.JobStatusDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.events.RoomChangedEvent;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.RoomRepository.RoomSearchRow;
+import roomy.repositories.RoomSpecifications;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index over room title, description and location. Ranked with BM25
+ * (Lucene's default similarity); every query term may match with a small edit distance
+ * so "Koramangla" still finds Koramangala. Kept current from RoomChangedEvent after
+ * each commit, one document per changed room; updates that fail are retried before the
+ * next scheduled commit. A full rebuild runs on first start and from the admin rebuild job.
+ */
+@Slf4j
+@Service
+public class RoomSearchIndex {
+
+    private static final Map<String, Float> TEXT_FIELDS = Map.of("location", 3f, "title", 2f, "description", 1f);
+    private static final int REBUILD_BATCH = 1000;
+    private static final int UPDATE_BATCH = 1000;
+    // Rooms without a move-in date count as available from the start of time
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final RoomRepository roomRepository;
+    private final BackgroundJobService backgroundJobService;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    // Replaced together when a failed rebuild is rolled back
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Rooms whose documents still have to be written, retried on the commit schedule
+    private final Set<Long> pendingRoomIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${room-search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    public RoomSearchIndex(RoomRepository roomRepository,
+                           BackgroundJobService backgroundJobService,
+                           @Value("${room-search.index-dir:}") String indexDir) throws IOException {
+        this.roomRepository = roomRepository;
+        this.backgroundJobService = backgroundJobService;
+        // No directory configured (tests, benchmarks): keep the index in memory
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.writer = openWriter();
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    private IndexWriter openWriter() throws IOException {
+        return new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() throws IOException {
+        if (rebuildOnStartup || writer.getDocStats().numDocs == 0) {
+            rebuild(new JobStatusDto());
+        }
+    }
+
+    public JobStatusDto startRebuild() {
+        return backgroundJobService.submit("SEARCH_INDEX_REBUILD", this::rebuild);
+    }
+
+    /**
+     * Re-indexes every room in id order. Searches keep seeing the previous index until
+     * the new one is committed; changes arriving meanwhile are written but only become
+     * visible with it. If the rebuild fails, the index is rolled back to the commit taken
+     * when it started.
+     */
+    public void rebuild(JobStatusDto progress) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("A search index rebuild is already running");
+        }
+        try {
+            progress.setStep("indexing rooms");
+            // The rollback point: per-room updates made before the rebuild survive a failure
+            writer.commit();
+            writer.deleteAll();
+            long afterId = 0;
+            List<RoomSearchRow> rows;
+            do {
+                rows = roomRepository.findSearchRowsAfter(afterId, PageRequest.of(0, REBUILD_BATCH));
+                for (RoomSearchRow row : rows) {
+                    writer.updateDocument(new Term("id", row.getId().toString()), toDocument(row));
+                }
+                progress.addProcessed(rows.size());
+                if (!rows.isEmpty()) {
+                    afterId = rows.getLast().getId();
+                }
+            } while (rows.size() == REBUILD_BATCH);
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            log.info("Room search index rebuilt with {} rooms", progress.getProcessed());
+        } catch (IOException e) {
+            rollBack();
+            throw new UncheckedIOException("Room search index rebuild failed", e);
+        } catch (RuntimeException e) {
+            rollBack();
+            throw e;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Drops the uncommitted deletes and partial documents; IndexWriter.rollback closes the
+    // writer, so a fresh one is opened on the last commit
+    private void rollBack() {
+        try {
+            writer.rollback();
+            IndexWriter reopened = openWriter();
+            SearcherManager previous = searcherManager;
+            searcherManager = new SearcherManager(reopened, null);
+            writer = reopened;
+            previous.close();
+            log.warn("Room search index rebuild failed; rolled back to the previous index");
+        } catch (IOException e) {
+            log.error("Could not roll back the room search index", e);
+        }
+    }
+
+    // Published outside a transaction too (user purge, import batches), where this runs inline
+    // in the publisher, so failures are kept for a retry instead of thrown
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        reindex(event.getRoomIds());
+    }
+
+    private void reindex(Collection<Long> roomIds) {
+        List<Long> ids = List.copyOf(roomIds);
+        for (int from = 0; from < ids.size(); from += UPDATE_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + UPDATE_BATCH, ids.size()));
+            try {
+                updateDocuments(batch);
+                if (rebuilding.get()) {
+                    // A failed rebuild rolls these writes back with it
+                    pendingRoomIds.addAll(batch);
+                }
+            } catch (IOException | RuntimeException e) {
+                pendingRoomIds.addAll(batch);
+                log.warn("Could not update search index for {} rooms; retrying with the next commit", batch.size(), e);
+            }
+        }
+        if (!rebuilding.get()) {
+            try {
+                searcherManager.maybeRefreshBlocking();
+            } catch (IOException e) {
+                log.warn("Could not refresh the room search index", e);
+            }
+        }
+    }
+
+    // Rooms missing from the table were deleted and lose their document
+    private void updateDocuments(List<Long> roomIds) throws IOException {
+        Map<Long, RoomSearchRow> rows = roomRepository.findSearchRowsByIdIn(roomIds).stream()
+                .collect(Collectors.toMap(RoomSearchRow::getId, Function.identity()));
+        for (Long roomId : roomIds) {
+            Term id = new Term("id", roomId.toString());
+            RoomSearchRow row = rows.get(roomId);
+            if (row != null) {
+                writer.updateDocument(id, toDocument(row));
+            } else {
+                writer.deleteDocuments(id);
+            }
+        }
+    }
+
+    // Room ids best match first
+    public List<Long> search(String text, RoomFilterDto filter, int limit) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        List<String> tokens = tokens(text);
+        if (tokens.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        for (String token : tokens) {
+            query.add(anyField(token), BooleanClause.Occur.MUST);
+        }
+        addFilters(query, filter);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (ScoreDoc hit : searcher.search(query.build(), limit).scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc).get("id")));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Room search failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${room-search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        if (rebuilding.get()) {
+            return;
+        }
+        if (!pendingRoomIds.isEmpty()) {
+            List<Long> retry = List.copyOf(pendingRoomIds);
+            pendingRoomIds.removeAll(retry);
+            reindex(retry);
+        }
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writer.commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // Exact matches outrank fuzzy ones; longer words tolerate more typos
+    private static Query anyField(String token) {
+        int maxEdits = token.length() > 5 ? 2 : token.length() > 2 ? 1 : 0;
+        BooleanQuery.Builder any = new BooleanQuery.Builder();
+        TEXT_FIELDS.forEach((field, boost) -> {
+            Term term = new Term(field, token);
+            any.add(new BoostQuery(new TermQuery(term), boost), BooleanClause.Occur.SHOULD);
+            if (maxEdits > 0) {
+                any.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1), boost / 2), BooleanClause.Occur.SHOULD);
+            }
+        });
+        return any.build();
+    }
+
+    private static void addFilters(BooleanQuery.Builder query, RoomFilterDto filter) {
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            query.add(DoublePoint.newRangeQuery("price",
+                    filter.getMinPrice() != null ? filter.getMinPrice() : Double.NEGATIVE_INFINITY,
+                    filter.getMaxPrice() != null ? filter.getMaxPrice() : Double.POSITIVE_INFINITY),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (RoomSpecifications.isSet(filter.getRoomType())) {
+            query.add(anyOf("roomType", RoomSpecifications.upperCase(filter.getRoomType())), BooleanClause.Occur.FILTER);
+        }
+        if (RoomSpecifications.isSet(filter.getGenderPreference())) {
+            query.add(anyOf("genderPreference", RoomSpecifications.upperCase(filter.getGenderPreference())),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (filter.getFurnished() != null) {
+            query.add(new TermQuery(new Term("furnished", filter.getFurnished().toString())), BooleanClause.Occur.FILTER);
+        }
+        if (filter.getAvailable() != null) {
+            query.add(new TermQuery(new Term("available", filter.getAvailable().toString())), BooleanClause.Occur.FILTER);
+        }
+        if (filter.getMinOccupancy() != null) {
+            query.add(IntPoint.newRangeQuery("maxOccupancy", filter.getMinOccupancy(), Integer.MAX_VALUE),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (filter.getAvailableBy() != null) {
+            query.add(LongPoint.newRangeQuery("availableFrom", NO_DATE, filter.getAvailableBy().toEpochDay()),
+                    BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private static Query anyOf(String field, List<String> values) {
+        return new TermInSetQuery(field, values.stream().map(BytesRef::new).toList());
+    }
+
+    private static Document toDocument(RoomSearchRow row) {
+        Document doc = new Document();
+        doc.add(new StringField("id", row.getId().toString(), Field.Store.YES));
+        addText(doc, "title", row.getTitle());
+        addText(doc, "description", row.getDescription());
+        addText(doc, "location", row.getLocation());
+        if (row.getPrice() != null) {
+            doc.add(new DoublePoint("price", row.getPrice()));
+        }
+        if (row.getRoomType() != null) {
+            doc.add(new StringField("roomType", row.getRoomType().toUpperCase(), Field.Store.NO));
+        }
+        if (row.getGenderPreference() != null) {
+            doc.add(new StringField("genderPreference", row.getGenderPreference().toUpperCase(), Field.Store.NO));
+        }
+        doc.add(new StringField("furnished", String.valueOf(Boolean.TRUE.equals(row.getFurnished())), Field.Store.NO));
+        doc.add(new StringField("available", String.valueOf(Boolean.TRUE.equals(row.getAvailable())), Field.Store.NO));
+        doc.add(new IntPoint("maxOccupancy", row.getMaxOccupancy() != null ? row.getMaxOccupancy() : 0));
+        doc.add(new LongPoint("availableFrom",
+                row.getAvailableFrom() != null ? row.getAvailableFrom().toEpochDay() : NO_DATE));
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        try (TokenStream stream = analyzer.tokenStream("title", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+}
@@ -1,22 +1,42 @@
 package roomy.services;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import roomy.config.CacheConfig;
+import roomy.dto.room.NearbyRoomDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.dto.room.RoomFilterPageDto;
+import roomy.dto.room.RoomSort;
+import roomy.dto.room.ReviewStatsDto;
 import roomy.dto.room.RoomDto;
 import roomy.dto.room.RoomReviewDto;
+import roomy.dto.room.RoomSummaryDto;
 import roomy.dto.room.RoomWithReviewsDto;
 import roomy.entities.Room;
 import roomy.entities.User;
 import roomy.entities.UserDocument;
 import roomy.entities.enums.RoomStatus;
+import roomy.events.RoomChangedEvent;
+import roomy.exceptions.BadRequestException;
 import roomy.exceptions.ResourceNotFoundException;
+import roomy.repositories.RoomFacetRepository.FacetRow;
 import roomy.repositories.RoomRepository;
 import roomy.repositories.RoomReviewRepository;
 import roomy.repositories.UserDocumentRepository;
+import roomy.repositories.RoomSpecifications;
 import roomy.repositories.UserRepository;
+import roomy.utils.GeoHash;
 
 import org.springframework.security.access.AccessDeniedException;
 
@@ -27,8 +47,14 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,19 +66,41 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final RoomReviewRepository reviewRepository;
    private final UserDocumentRepository userDocumentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomReviewService roomReviewService;
+    private final UploadMetrics uploadMetrics;
+    private final CacheManager cacheManager;
+    private final RoomSearchCoalescer searchCoalescer;
+    private final RoomSearchIndex searchIndex;
+    private final EntityManagerFactory entityManagerFactory;
 
+    private static final int MAX_FILTER_PAGE_SIZE = 100;
+    private static final int MAX_TEXT_RESULTS = 100;
 
+    @Value("${room-geo.max-radius-km:50}")
+    private double maxRadiusKm;
 
+    @Value("${room-geo.max-cells:1000}")
+    private int maxCells;
+
+    @Value("${room-geo.max-results:200}")
+    private int maxResults;
+
+
+
+    @Transactional
     public RoomDto createRoom(RoomDto roomDto, User user) {
         Room room = modelMapper.map(roomDto, Room.class);
         room.setUser(user);
         room.setCreatedAt(LocalDateTime.now());
         Room savedRoom = roomRepository.save(room);
+        eventPublisher.publishEvent(RoomChangedEvent.of(savedRoom.getId(), savedRoom.getLocation()));
         return modelMapper.map(savedRoom, RoomDto.class);
     }
 
 
 
+    @Transactional(readOnly = true)
     public List<RoomDto> getRoomsByUser(User user) {
         List<Room> rooms = roomRepository.findByUser(user);
         return rooms.stream()
@@ -60,14 +108,20 @@ public class RoomService {
                 .collect(Collectors.toList());
     }
 
+    // Methods whose results are cached read on the primary: a replica lagging behind the commit
+    // that just evicted an entry would put stale rows back into the cache. Cached lists are
+    // shared by every caller, so they are returned unmodifiable.
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ROOM_LISTS, key = "'all'", sync = true)
     public List<RoomDto> getAllRooms() {
         List<Room> rooms = roomRepository.findAll();
         return rooms.stream()
                 .map(room -> modelMapper.map(room, RoomDto.class))
-                .collect(Collectors.toList());
+                .toList();
     }
 
 
+    @Transactional
     public RoomDto updateRoomStatus(Long roomId, RoomStatus status, User user) {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + roomId));
@@ -78,15 +132,19 @@ public class RoomService {
 
         room.setStatus(status);
         Room updatedRoom = roomRepository.save(room);
+        eventPublisher.publishEvent(RoomChangedEvent.of(roomId, room.getLocation()));
         return modelMapper.map(updatedRoom, RoomDto.class);
     }
 
+    @Transactional
     public void deleteRoom(Long roomId, Long userId) {
         Room room = roomRepository.findByIdAndUserId(roomId, userId)
                 .orElseThrow(() -> new AccessDeniedException("You are not authorized to delete this room"));
 
         roomRepository.delete(room);
+        eventPublisher.publishEvent(RoomChangedEvent.of(roomId, room.getLocation()));
     }
+    @Transactional
     public void deleteRoomByAdmin(Long roomId, User currentUser) {
         // 🔐 Check admin role
         boolean isAdmin = currentUser.getRoles()
@@ -101,6 +159,7 @@ public class RoomService {
                 .orElseThrow(() -> new RuntimeException("Room not found with id " + roomId));
 
         roomRepository.delete(room);
+        eventPublisher.publishEvent(RoomChangedEvent.of(roomId, room.getLocation()));
     }
 //    public void deleteRoomById(Long id) {
 //        if (!roomRepository.existsById(id)) {
@@ -114,6 +173,7 @@ public class RoomService {
 
 
 
+    @Transactional
     public RoomDto uploadRoomImages(Long roomId, MultipartFile[] images, User user) {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
@@ -129,7 +189,9 @@ public class RoomService {
             Path path = Paths.get("uploads/rooms/" + fileName);
             try {
                 Files.createDirectories(path.getParent());
+                long start = System.nanoTime();
                 Files.write(path, file.getBytes());
+                uploadMetrics.record("room-image", file.getSize(), start);
                 uploadedUrls.add("/uploads/rooms/" + fileName); // relative path to access later
             } catch (IOException e) {
                 throw new RuntimeException("Failed to upload image", e);
@@ -138,11 +200,13 @@ public class RoomService {
 
         room.getImageUrls().addAll(uploadedUrls);
         Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(RoomChangedEvent.of(roomId, room.getLocation()));
 
         return modelMapper.map(saved, RoomDto.class);
     }
 
 
+    @Transactional
     public RoomDto updateRoom(Long roomId, RoomDto roomDto, User user) {
         Room existingRoom = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + roomId));
@@ -152,11 +216,16 @@ public class RoomService {
             throw new AccessDeniedException("You are not authorized to update this room");
         }
 
+        String previousLocation = existingRoom.getLocation();
+
         // Update fields
         existingRoom.setTitle(roomDto.getTitle());
         existingRoom.setDescription(roomDto.getDescription());
         existingRoom.setPrice(roomDto.getPrice());
         existingRoom.setLocation(roomDto.getLocation());
+        // Clients that don't send coordinates keep the stored ones, and with them the geohash
+        existingRoom.setLatitude(roomDto.getLatitude() != null ? roomDto.getLatitude() : existingRoom.getLatitude());
+        existingRoom.setLongitude(roomDto.getLongitude() != null ? roomDto.getLongitude() : existingRoom.getLongitude());
         existingRoom.setImageUrls(roomDto.getImageUrls() != null ? new ArrayList<>(roomDto.getImageUrls()) : existingRoom.getImageUrls());
         existingRoom.setFurnished(roomDto.isFurnished());
         existingRoom.setAvailable(roomDto.isAvailable());
@@ -167,96 +236,258 @@ public class RoomService {
         existingRoom.setMaxOccupancy(roomDto.getMaxOccupancy());
 
         Room savedRoom = roomRepository.save(existingRoom);
-
+        eventPublisher.publishEvent(RoomChangedEvent.of(roomId, previousLocation, savedRoom.getLocation()));
 
         return modelMapper.map(savedRoom, RoomDto.class);
     }
 
 
 
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ROOM_BY_ID, sync = true)
     public RoomDto getRoomById(Long roomId) {
-        Room room = roomRepository.findById(roomId)
+        // Room, its images and the owner all resolve from the second-level cache once warm; a cold
+        // room is fetched with them in one query, which also fills the cache
+        Optional<Room> found = entityManagerFactory.getCache().contains(Room.class, roomId)
+                ? roomRepository.findById(roomId)
+                : roomRepository.findWithOwnerAndImagesById(roomId);
+        Room room = found
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + roomId));
         return modelMapper.map(room, RoomDto.class);
     }
 
 
+    // Misses are coalesced by the single-flight rather than the cache so the collapse ratio is measurable
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ROOM_LISTS,
+            key = "'location:' + T(roomy.config.CacheConfig).normalize(#location)")
     public List<RoomWithReviewsDto> getRoomsByLocation(String location) {
-        List<Room> rooms = roomRepository.findByLocationContainingIgnoreCase(location);
+        String normalized = CacheConfig.normalize(location);
+        return searchCoalescer.execute("location:" + normalized,
+                () -> withReviews(roomRepository.findByLocationContainingIgnoreCase(normalized)));
+    }
+
+    // Rooms arrive with owner and images fetched; reviews for all of them come from one projection query
+    private List<RoomWithReviewsDto> withReviews(List<Room> rooms) {
+        if (rooms.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<RoomReviewDto>> reviewsByRoom = reviewRepository
+                .findDtosByRoomIdIn(rooms.stream().map(Room::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(RoomReviewDto::getRoomId, Collectors.toUnmodifiableList()));
 
         return rooms.stream().map(room -> {
             RoomWithReviewsDto dto = modelMapper.map(room, RoomWithReviewsDto.class);
             dto.setUserId(room.getUser() != null ? room.getUser().getId() : null);
+            dto.setReviews(reviewsByRoom.getOrDefault(room.getId(), List.of()));
+            return dto;
+        }).toList();
+    }
 
-            List<RoomReviewDto> reviews = reviewRepository.findByRoom(room)
-                    .stream()
-                    .map(r -> {
-                        RoomReviewDto reviewDto = new RoomReviewDto();
-                        reviewDto.setId(r.getId());
-                        reviewDto.setRoomId(r.getRoom().getId());
-                        reviewDto.setUserId(r.getUser() != null ? r.getUser().getId() : null);
-                        reviewDto.setUserName(r.getUser() != null ? r.getUser().getName() : null);
-                        reviewDto.setRating(r.getRating());
-                        reviewDto.setReviewComment(r.getReviewComment());
-                        reviewDto.setCreatedAt(r.getCreatedAt());
-                        return reviewDto;
-                    })
-                    .collect(Collectors.toList());
-
-            dto.setReviews(reviews);
+    // Search results carry review statistics only; full reviews are paged in from RoomReviewService
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ROOM_LISTS, sync = true,
+            key = "'summary:' + T(roomy.config.CacheConfig).normalize(#location)")
+    public List<RoomSummaryDto> getRoomSummariesByLocation(String location) {
+        List<Room> rooms = roomRepository.findByLocationContainingIgnoreCase(CacheConfig.normalize(location));
+        Map<Long, ReviewStatsDto> stats = roomReviewService.getReviewStats(
+                rooms.stream().map(Room::getId).toList());
+
+        return rooms.stream().map(room -> {
+            RoomSummaryDto dto = modelMapper.map(room, RoomSummaryDto.class);
+            dto.setUserId(room.getUser() != null ? room.getUser().getId() : null);
+            dto.setReviewStats(stats.get(room.getId()));
             return dto;
-        }).collect(Collectors.toList());
+        }).toList();
     }
 
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ROOM_LISTS,
+            key = "'query:' + T(roomy.config.CacheConfig).normalize(#query)")
     public List<RoomWithReviewsDto> getRoomsByQuery(String query) {
-        String lowerQuery = query.toLowerCase();
+        String normalized = CacheConfig.normalize(query);
+        return searchCoalescer.execute("query:" + normalized,
+                () -> withReviews(roomRepository.searchByTitleOrLocation(normalized)));
+    }
 
-        List<Room> allRooms = roomRepository.findAll();
 
-        return allRooms.stream()
-                .filter(room ->
-                        (room.getTitle() != null && room.getTitle().toLowerCase().contains(lowerQuery)) ||
-                                (room.getLocation() != null && room.getLocation().toLowerCase().contains(lowerQuery))
-                )
+    @Transactional
+    public List<RoomDto> getRandomRooms(int count) {
+        // The available pool is cached; each call still shuffles its own copy so picks stay random
+        List<RoomDto> rooms = new ArrayList<>(cacheManager.getCache(CacheConfig.ROOM_LISTS)
+                .get("available", this::loadAvailableRooms));
+
+        // Shuffle the list randomly
+        Collections.shuffle(rooms);
+
+        // Pick the first 'count' rooms
+        return rooms.stream()
+                .limit(count)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public RoomFilterPageDto filterRooms(RoomFilterDto filter) {
+        int page = Math.max(filter.getPage(), 0);
+        int size = Math.min(Math.max(filter.getSize(), 1), MAX_FILTER_PAGE_SIZE);
+        Page<Room> matches = roomRepository.findAll(RoomSpecifications.matching(filter),
+                PageRequest.of(page, size, sortFor(filter)));
+
+        List<RoomSummaryDto> items = summaries(matches.getContent().stream().map(Room::getId).toList());
+        return new RoomFilterPageDto(items, page, size, matches.getTotalElements(),
+                facets(roomRepository.countFacets(RoomSpecifications.base(filter)), filter));
+    }
+
+    // Summaries in the given id order; owners, images and review stats load for all ids at once
+    private List<RoomSummaryDto> summaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Room> rooms = roomRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<Long, ReviewStatsDto> stats = roomReviewService.getReviewStats(ids);
+
+        return ids.stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
                 .map(room -> {
-                    RoomWithReviewsDto dto = modelMapper.map(room, RoomWithReviewsDto.class);
+                    RoomSummaryDto dto = modelMapper.map(room, RoomSummaryDto.class);
                     dto.setUserId(room.getUser() != null ? room.getUser().getId() : null);
-
-                    List<RoomReviewDto> reviews = reviewRepository.findByRoom(room)
-                            .stream()
-                            .map(r -> {
-                                RoomReviewDto reviewDto = new RoomReviewDto();
-                                reviewDto.setId(r.getId());
-                                reviewDto.setRoomId(r.getRoom().getId());
-                                reviewDto.setUserId(r.getUser() != null ? r.getUser().getId() : null);
-                                reviewDto.setUserName(r.getUser() != null ? r.getUser().getName() : null);
-                                reviewDto.setRating(r.getRating());
-                                reviewDto.setReviewComment(r.getReviewComment());
-                                reviewDto.setCreatedAt(r.getCreatedAt());
-                                return reviewDto;
-                            })
-                            .collect(Collectors.toList());
-
-                    dto.setReviews(reviews);
+                    dto.setReviewStats(stats.get(room.getId()));
                     return dto;
                 })
                 .collect(Collectors.toList());
     }
 
+    // Relevance-ranked search over title, description and location; location and sort in the filter are ignored
+    @Transactional(readOnly = true)
+    public List<RoomSummaryDto> searchRoomsFullText(String text, RoomFilterDto filter, int limit) {
+        List<Long> ids = searchIndex.search(text, filter, Math.min(Math.max(limit, 1), MAX_TEXT_RESULTS));
+        return summaries(ids);
+    }
 
-    public List<RoomDto> getRandomRooms(int count) {
-        List<Room> rooms = roomRepository.findAllByIsAvailableTrue(); // fetch all available rooms
+    private static Sort sortFor(RoomFilterDto filter) {
+        Sort sort = switch (filter.getSort() != null ? filter.getSort() : RoomSort.NEWEST) {
+            case NEWEST -> Sort.by(Sort.Direction.DESC, "createdAt");
+            case PRICE_ASC -> Sort.by(Sort.Direction.ASC, "price");
+            case PRICE_DESC -> Sort.by(Sort.Direction.DESC, "price");
+            case AVAILABLE_SOONEST -> Sort.by(Sort.Direction.ASC, "availableFrom");
+        };
+        // Stable order across pages when the sort key ties
+        return sort.and(Sort.by(Sort.Direction.DESC, "id"));
+    }
 
-        // Shuffle the list randomly
-        Collections.shuffle(rooms);
+    // Folds the grouped rows into per-dimension counts; each dimension applies every selection but its own
+    private static Map<String, Map<String, Long>> facets(List<FacetRow> rows, RoomFilterDto filter) {
+        List<String> types = RoomSpecifications.isSet(filter.getRoomType())
+                ? RoomSpecifications.upperCase(filter.getRoomType()) : null;
+        List<String> genders = RoomSpecifications.isSet(filter.getGenderPreference())
+                ? RoomSpecifications.upperCase(filter.getGenderPreference()) : null;
 
-        // Pick the first 'count' rooms
-        List<Room> selectedRooms = rooms.stream()
-                .limit(count)
-                .toList();
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (String dimension : List.of("roomType", "furnished", "genderPreference", "maxOccupancy", "price")) {
+            facets.put(dimension, new LinkedHashMap<>());
+        }
+        for (FacetRow row : rows) {
+            boolean type = types == null || types.contains(row.roomType());
+            boolean furnished = filter.getFurnished() == null || filter.getFurnished() == row.furnished();
+            boolean gender = genders == null || genders.contains(row.genderPreference());
+            boolean occupancy = filter.getMinOccupancy() == null || row.maxOccupancy() >= filter.getMinOccupancy();
+
+            if (furnished && gender && occupancy) {
+                facets.get("roomType").merge(label(row.roomType()), row.count(), Long::sum);
+            }
+            if (type && gender && occupancy) {
+                facets.get("furnished").merge(String.valueOf(row.furnished()), row.count(), Long::sum);
+            }
+            if (type && furnished && occupancy) {
+                facets.get("genderPreference").merge(label(row.genderPreference()), row.count(), Long::sum);
+            }
+            if (type && furnished && gender) {
+                facets.get("maxOccupancy").merge(String.valueOf(row.maxOccupancy()), row.count(), Long::sum);
+            }
+            if (type && furnished && gender && occupancy && row.priceBand() != null) {
+                // Keyed by the band's lower bound, e.g. "10000" for 10000-14999
+                facets.get("price").merge(String.valueOf(row.priceBand() * Room.PRICE_BAND), row.count(), Long::sum);
+            }
+        }
+        return facets;
+    }
+
+    private static String label(String value) {
+        return value != null ? value : "UNSPECIFIED";
+    }
+
+    @Transactional(readOnly = true)
+    public List<NearbyRoomDto> getRoomsNearby(double latitude, double longitude, double radiusKm, int limit) {
+        requireCoordinates(latitude, longitude);
+        if (!(radiusKm > 0 && radiusKm <= maxRadiusKm)) {
+            throw new BadRequestException("Radius must be between 0 and " + maxRadiusKm + " km");
+        }
+        GeoHash.BoundingBox box = GeoHash.BoundingBox.around(latitude, longitude, radiusKm);
+        // The box's corners lie outside the circle and rank last, so trimming them keeps the nearest rooms
+        return findInBox(box, latitude, longitude, limit).stream()
+                .filter(room -> room.getDistanceKm() <= radiusKm)
+                .collect(Collectors.toList());
+    }
+
+    // Distances are measured from the given point, or from the centre of the box when none is given
+    @Transactional(readOnly = true)
+    public List<NearbyRoomDto> getRoomsInBox(double minLat, double minLng, double maxLat, double maxLng,
+                                             Double latitude, Double longitude, int limit) {
+        requireCoordinates(minLat, minLng);
+        requireCoordinates(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new BadRequestException("Bounding box minimums must not exceed its maximums");
+        }
+        GeoHash.BoundingBox box = new GeoHash.BoundingBox(minLat, minLng, maxLat, maxLng);
+        return findInBox(box,
+                latitude != null ? latitude : box.centerLat(),
+                longitude != null ? longitude : box.centerLng(),
+                limit);
+    }
+
+    private List<NearbyRoomDto> findInBox(GeoHash.BoundingBox box, double latitude, double longitude, int limit) {
+        if (limit < 1 || limit > maxResults) {
+            throw new BadRequestException("Limit must be between 1 and " + maxResults);
+        }
+        Set<String> cells = GeoHash.cellsCovering(box, maxCells);
+        if (cells == null) {
+            throw new BadRequestException("Search area is too large");
+        }
+
+        double cos = Math.cos(Math.toRadians(latitude));
+        List<Long> ids = roomRepository.findIdsInCellsByDistance(cells,
+                box.minLat(), box.maxLat(), box.minLng(), box.maxLng(),
+                latitude, longitude, cos * cos, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Room> rooms = roomRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        return ids.stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
+                .map(room -> {
+                    NearbyRoomDto dto = modelMapper.map(room, NearbyRoomDto.class);
+                    dto.setUserId(room.getUser() != null ? room.getUser().getId() : null);
+                    dto.setDistanceKm(GeoHash.distanceKm(latitude, longitude, room.getLatitude(), room.getLongitude()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static void requireCoordinates(double latitude, double longitude) {
+        // Written positively so NaN is rejected too
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new BadRequestException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+    }
 
-        // Map to RoomDto
-        return selectedRooms.stream()
+    private List<RoomDto> loadAvailableRooms() {
+        return roomRepository.findAllByIsAvailableTrue().stream()
                 .map(room -> {
                     RoomDto dto = modelMapper.map(room, RoomDto.class);
                     dto.setUserId(room.getUser() != null ? room.getUser().getId() : null);
@@ -1,45 +1,124 @@
 package roomy.services;
 
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.web.authentication.session.SessionAuthenticationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import roomy.entities.Session;
 import roomy.entities.User;
 import roomy.repositories.SessionRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Refresh-token sessions, stored as SHA-256 hashes. Known sessions are cached so a refresh
+ * normally skips the database; lastUsedAt is only needed to pick the session to evict, so
+ * uses are collected in memory and written in one pass per flush interval.
+ */
 @Service
-@RequiredArgsConstructor
 public class SessionService {
 
+    private static final int FLUSH_CHUNK = 500;
+
     private final SessionRepository sessionRepository;
     private final int SESSION_LIMIT = 2;
 
-    public void generateNewSession(User user, String refreshToken) {
-        List<Session> userSessions = sessionRepository.findByUser(user);
-        if (userSessions.size() == SESSION_LIMIT) {
-            userSessions.sort(Comparator.comparing(Session::getLastUsedAt));
+    // Token hash -> owning user id. Entries expire after the ttl and are re-checked against the
+    // database, which bounds how long another instance accepts a session evicted here. A user
+    // has at most SESSION_LIMIT sessions, so evictions look up their hashes rather than scan.
+    private final Cache<String, Long> knownSessions;
+    private final Map<String, LocalDateTime> pendingLastUsed = new ConcurrentHashMap<>();
 
-            Session leastRecentlyUsedSession = userSessions.getFirst();
-            sessionRepository.delete(leastRecentlyUsedSession);
-        }
+    public SessionService(SessionRepository sessionRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${session.cache.max-entries:100000}") long cacheMaxEntries,
+                          @Value("${session.cache.ttl:10m}") Duration cacheTtl) {
+        this.sessionRepository = sessionRepository;
+        this.knownSessions = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, knownSessions, "sessions");
+    }
+
+    @Transactional
+    public void generateNewSession(User user, String refreshToken) {
+        // Eviction orders by last_used_at, so write out recent uses first
+        flushLastUsed();
+        List<String> cached = sessionRepository.findTokenHashesByUserId(user.getId());
+        sessionRepository.deleteAllButMostRecent(user.getId(), SESSION_LIMIT - 1);
+        knownSessions.invalidateAll(cached);
 
         Session newSession = Session.builder()
                 .user(user)
-                .refreshToken(refreshToken)
+                .tokenHash(hash(refreshToken))
                 .build();
         sessionRepository.save(newSession);
     }
 
     public void validateSession(String refreshToken) {
-        Session session = sessionRepository.findByRefreshToken(refreshToken)
-                .orElseThrow(() -> new SessionAuthenticationException("Session not found for refreshToken: "+refreshToken));
-        session.setLastUsedAt(LocalDateTime.now());
-        sessionRepository.save(session);
+        String tokenHash = hash(refreshToken);
+        Long userId = knownSessions.get(tokenHash, key -> sessionRepository.findUserIdByTokenHash(key).orElse(null));
+        if (userId == null) {
+            throw new SessionAuthenticationException("Session not found for refresh token");
+        }
+        pendingLastUsed.put(tokenHash, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void deleteUserSessions(Long userId) {
+        List<String> cached = sessionRepository.findTokenHashesByUserId(userId);
+        sessionRepository.deleteByUserId(userId);
+        knownSessions.invalidateAll(cached);
     }
 
+    @Transactional
+    @Scheduled(fixedDelayString = "${session.last-used.flush-interval-ms:30000}")
+    public void flushLastUsed() {
+        if (pendingLastUsed.isEmpty()) {
+            return;
+        }
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (String tokenHash : pendingLastUsed.keySet()) {
+            LocalDateTime usedAt = pendingLastUsed.remove(tokenHash);
+            if (usedAt != null) {
+                batch.put(tokenHash, usedAt);
+            }
+        }
+
+        List<String> tokenHashes = new ArrayList<>(batch.keySet());
+        for (int from = 0; from < tokenHashes.size(); from += FLUSH_CHUNK) {
+            List<String> chunk = tokenHashes.subList(from, Math.min(tokenHashes.size(), from + FLUSH_CHUNK));
+            // Managed entities are flushed as one UPDATE each at commit; deleted sessions simply drop out
+            for (Session session : sessionRepository.findByTokenHashIn(chunk)) {
+                session.setLastUsedAt(batch.get(session.getTokenHash()));
+            }
+        }
+    }
+
+    static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
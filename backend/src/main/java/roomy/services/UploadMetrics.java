@@ -0,0 +1,31 @@
+package roomy.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and write time of uploaded files, tagged by kind (room-image, document, profile-image).
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(String kind, long bytes, long startNanos) {
+        DistributionSummary.builder("uploads.bytes")
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(bytes);
+        Timer.builder("uploads.duration")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -2,6 +2,7 @@ package roomy.services;
 
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,6 +22,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserDocumentService {
@@ -28,6 +30,7 @@ public class UserDocumentService {
     private final UserDocumentRepository documentRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final UploadMetrics uploadMetrics;
 
     @Value("${document.upload-dir}")
     private String uploadDir;
@@ -41,7 +44,7 @@ public class UserDocumentService {
         Path uploadPath = Paths.get(uploadDir).toAbsolutePath(); // ensure absolute path
         if (!Files.exists(uploadPath)) {
             Files.createDirectories(uploadPath);
-            System.out.println("Created folder: " + uploadPath);
+            log.info("Created folder {}", uploadPath);
         }
 
         String originalFileName = file.getOriginalFilename();
@@ -52,9 +55,11 @@ public class UserDocumentService {
         String newFileName = UUID.randomUUID().toString() + extension;
         Path filePath = uploadPath.resolve(newFileName);
 
-        System.out.println("Uploading file to: " + filePath); // debug path
+        log.debug("Uploading document for user {} to {}", userId, filePath);
 
+        long start = System.nanoTime();
         file.transferTo(filePath.toFile());
+        uploadMetrics.record("document", file.getSize(), start);
 
         UserDocument document = new UserDocument();
         document.setUser(user);
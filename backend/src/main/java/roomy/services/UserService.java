@@ -1,10 +1,14 @@
 package roomy.services;
 
 
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -12,16 +16,15 @@ import org.springframework.stereotype.Service;
 import roomy.dto.SignUpDto;
 import roomy.dto.UserDto;
 import roomy.entities.User;
+import roomy.entities.enums.OtpPurpose;
 import roomy.exceptions.ResourceNotFoundException;
 import roomy.repositories.UserRepository;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
@@ -29,6 +32,7 @@ public class UserService implements UserDetailsService {
     private final EmailService emailService;
 
     private final OtpService otpService;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -36,9 +40,29 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new BadCredentialsException("User with email "+ username +" not found"));
     }
 
+    // Called by the authentication provider after a successful login whose hash was made with a
+    // lower BCrypt strength than password-hashing.bcrypt-strength; newPassword is already encoded
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User existing = (User) user;
+        userRepository.findById(existing.getId()).ifPresent(stored -> stored.setPassword(newPassword));
+        existing.setPassword(newPassword);
+        return existing;
+    }
+
+    // Served from the second-level cache on the JWT filter's hot path; a cold user is fetched
+    // with its roles in one query instead. Roles are initialized here because callers use the
+    // user after the session has closed
+    @Transactional
     public User getUserById(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User with id "+ userId +
+        Optional<User> found = entityManagerFactory.getCache().contains(User.class, userId)
+                ? userRepository.findById(userId)
+                : userRepository.findWithRolesById(userId);
+        User user = found.orElseThrow(() -> new ResourceNotFoundException("User with id "+ userId +
                 " not found"));
+        Hibernate.initialize(user.getRoles());
+        return user;
     }
 
     public User getUsrByEmail(String email) {
@@ -82,10 +106,7 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String otp = String.valueOf(new Random().nextInt(900000) + 100000);
-        user.setOtp(otp);
-        user.setOtpExpiry(LocalDateTime.now().plusMinutes(10));
-        userRepository.save(user);
+        String otp = otpService.issue(OtpPurpose.PASSWORD_RESET, user.getEmail());
 
         emailService.sendOtpEmail(user.getEmail(), otp);
     }
@@ -94,17 +115,20 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (user.getOtp() == null || !user.getOtp().equals(otp)) {
-            throw new RuntimeException("Invalid OTP");
+        OtpStore.Result result = otpService.verify(OtpPurpose.PASSWORD_RESET, user.getEmail(), otp);
+        if (result == OtpStore.Result.EXPIRED) {
+            throw new RuntimeException("OTP expired");
         }
 
-        if (user.getOtpExpiry().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("OTP expired");
+        if (result == OtpStore.Result.TOO_MANY_ATTEMPTS) {
+            throw new RuntimeException("Too many attempts, request a new OTP");
+        }
+
+        if (result != OtpStore.Result.VERIFIED) {
+            throw new RuntimeException("Invalid OTP");
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
-        user.setOtp(null);
-        user.setOtpExpiry(null);
         userRepository.save(user);
     }
 }
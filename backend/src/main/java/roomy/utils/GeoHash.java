@@ -0,0 +1,105 @@
+package roomy.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash cells for indexed proximity search. Rooms store the precision-5 cell
+ * (about 4.9 x 4.9 km at the equator) of their coordinates; a search enumerates the
+ * cells overlapping its bounding box and looks them up with an IN on the indexed column.
+ * Boxes crossing the antimeridian are clamped rather than wrapped.
+ */
+public final class GeoHash {
+
+    public static final int PRECISION = 5;
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double CELL_HEIGHT = 180 / Math.pow(2, (5 * PRECISION) / 2);
+    private static final double CELL_WIDTH = 360 / Math.pow(2, (5 * PRECISION + 1) / 2);
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(PRECISION);
+        boolean evenBit = true;
+        int bit = 0, ch = 0;
+        while (hash.length() < PRECISION) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Every cell overlapping the box, or null when there would be more than maxCells of them
+    public static Set<String> cellsCovering(BoundingBox box, int maxCells) {
+        long firstRow = (long) Math.floor((box.minLat() + 90) / CELL_HEIGHT);
+        long lastRow = (long) Math.floor((Math.min(box.maxLat(), 89.999999) + 90) / CELL_HEIGHT);
+        long firstCol = (long) Math.floor((box.minLng() + 180) / CELL_WIDTH);
+        long lastCol = (long) Math.floor((Math.min(box.maxLng(), 179.999999) + 180) / CELL_WIDTH);
+        if ((lastRow - firstRow + 1) * (lastCol - firstCol + 1) > maxCells) {
+            return null;
+        }
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long col = firstCol; col <= lastCol; col++) {
+                cells.add(encode((row + 0.5) * CELL_HEIGHT - 90, (col + 0.5) * CELL_WIDTH - 180));
+            }
+        }
+        return cells;
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public record BoundingBox(double minLat, double minLng, double maxLat, double maxLng) {
+
+        public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+            double dLat = radiusKm / KM_PER_DEGREE;
+            // Longitude degrees shrink towards the poles
+            double dLng = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+            return new BoundingBox(Math.max(-90, latitude - dLat), Math.max(-180, longitude - dLng),
+                    Math.min(90, latitude + dLat), Math.min(180, longitude + dLng));
+        }
+
+        public double centerLat() {
+            return (minLat + maxLat) / 2;
+        }
+
+        public double centerLng() {
+            return (minLng + maxLng) / 2;
+        }
+    }
+}
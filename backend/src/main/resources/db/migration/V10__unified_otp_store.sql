@@ -0,0 +1,14 @@
+-- One OTP subsystem: otp_verification serves both sign-up and password-reset codes (when
+-- otp.store=database) and the per-user columns go away. Outstanding codes are dropped; users
+-- request a new one.
+DELETE FROM otp_verification;
+
+DROP INDEX idx_otp_verification_email ON otp_verification;
+ALTER TABLE otp_verification DROP COLUMN verified;
+ALTER TABLE otp_verification ADD COLUMN purpose ENUM ('EMAIL_VERIFICATION', 'PASSWORD_RESET') NOT NULL;
+ALTER TABLE otp_verification ADD COLUMN failed_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE otp_verification ADD CONSTRAINT uk_otp_verification_email_purpose UNIQUE (email, purpose);
+CREATE INDEX idx_otp_verification_expiry ON otp_verification (expiry_time);
+
+ALTER TABLE user DROP COLUMN otp;
+ALTER TABLE user DROP COLUMN otp_expiry;
@@ -0,0 +1,19 @@
+-- Rooms, reviews, sessions and chat messages take ids from pooled blocks (TableGenerator) so
+-- Hibernate can batch their inserts. Each counter starts one allocation above the current
+-- maximum, clear of existing rows. The id columns keep AUTO_INCREMENT; dropping it would rebuild
+-- chat_message, and nothing inserts without an id any more.
+CREATE TABLE id_generator (
+    name     VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_generator (name, next_val) SELECT 'chat_message', COALESCE(MAX(id), 0) + 100 FROM chat_message;
+INSERT INTO id_generator (name, next_val) SELECT 'room', COALESCE(MAX(id), 0) + 50 FROM room;
+INSERT INTO id_generator (name, next_val) SELECT 'room_review', COALESCE(MAX(id), 0) + 50 FROM room_review;
+INSERT INTO id_generator (name, next_val) SELECT 'session', COALESCE(MAX(id), 0) + 50 FROM session;
+
+-- Recent chats pick each conversation's latest message by timestamp now that ids from different
+-- instances interleave; the receiver-side index carries the timestamp like the sender-side one
+CREATE INDEX idx_chat_receiver_sender_time ON chat_message (receiver_id, sender_id, timestamp);
+DROP INDEX idx_chat_receiver_sender ON chat_message;
@@ -0,0 +1,5 @@
+-- The ranking outbox dispatcher claims a batch in a short transaction and calls the ranking
+-- service after committing; the claim keeps other instances off those rows until it expires
+ALTER TABLE ranking_outbox_event ADD COLUMN claim_token VARCHAR(36);
+ALTER TABLE ranking_outbox_event ADD COLUMN claimed_until DATETIME(6);
+CREATE INDEX idx_ranking_outbox_claim ON ranking_outbox_event (claim_token);
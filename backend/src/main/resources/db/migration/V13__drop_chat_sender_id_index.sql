@@ -0,0 +1,3 @@
+-- Conversations are read in timestamp order since ids stopped following time, so the sender-side
+-- id index goes the way of the receiver-side one: idx_chat_sender_receiver_time covers its lookups
+DROP INDEX idx_chat_sender_receiver ON chat_message;
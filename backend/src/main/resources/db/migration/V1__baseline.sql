@@ -0,0 +1,115 @@
+-- Schema as Hibernate generated it for the last release that ran on ddl-auto (MySQL dialect).
+-- Databases that already have it are stamped at this version by baseline-on-migrate, so
+-- everything added since goes into V2 and later.
+
+CREATE TABLE user (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    email               VARCHAR(255),
+    is_verified         BIT NOT NULL,
+    name                VARCHAR(255),
+    otp                 VARCHAR(255),
+    otp_expiry          DATETIME(6),
+    password            VARCHAR(255),
+    verification_status TINYINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_email UNIQUE (email)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    roles   ENUM ('USER', 'CREATOR', 'ADMIN'),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES user (id)
+);
+
+CREATE TABLE profiles (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    address             VARCHAR(255),
+    bio                 VARCHAR(255),
+    created_at          DATETIME(6),
+    full_name           VARCHAR(255),
+    phone_number        VARCHAR(255),
+    profile_image_url   VARCHAR(255),
+    social_links        VARCHAR(2000),
+    verification_status BIT NOT NULL,
+    user_id             BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_profiles_user UNIQUE (user_id),
+    CONSTRAINT fk_profiles_user FOREIGN KEY (user_id) REFERENCES user (id)
+);
+
+CREATE TABLE room (
+    id                BIGINT NOT NULL AUTO_INCREMENT,
+    available_from    DATE,
+    created_at        DATETIME(6),
+    description       VARCHAR(255),
+    furnished         BIT NOT NULL,
+    gender_preference VARCHAR(255),
+    is_available      BIT NOT NULL,
+    location          VARCHAR(255) NOT NULL,
+    max_occupancy     INTEGER NOT NULL,
+    price             FLOAT(53) NOT NULL,
+    room_type         VARCHAR(255),
+    status            ENUM ('AVAILABLE', 'RENTED', 'INACTIVE'),
+    title             VARCHAR(255) NOT NULL,
+    user_id           BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_room_user FOREIGN KEY (user_id) REFERENCES user (id)
+);
+
+CREATE TABLE room_image_urls (
+    room_id    BIGINT NOT NULL,
+    image_urls VARCHAR(255),
+    CONSTRAINT fk_room_image_urls_room FOREIGN KEY (room_id) REFERENCES room (id)
+);
+
+CREATE TABLE room_review (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    created_at     DATETIME(6) NOT NULL,
+    rating         INTEGER NOT NULL,
+    review_comment VARCHAR(255),
+    room_id        BIGINT,
+    user_id        BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_room_review_room FOREIGN KEY (room_id) REFERENCES room (id),
+    CONSTRAINT fk_room_review_user FOREIGN KEY (user_id) REFERENCES user (id)
+);
+
+CREATE TABLE chat_message (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    content     VARCHAR(255),
+    timestamp   DATETIME(6),
+    receiver_id BIGINT,
+    sender_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_chat_message_receiver FOREIGN KEY (receiver_id) REFERENCES user (id),
+    CONSTRAINT fk_chat_message_sender FOREIGN KEY (sender_id) REFERENCES user (id)
+);
+
+CREATE TABLE session (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    last_used_at  DATETIME(6),
+    refresh_token VARCHAR(255),
+    user_id       BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_session_user FOREIGN KEY (user_id) REFERENCES user (id)
+);
+
+CREATE TABLE otp_verification (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    email       VARCHAR(255),
+    expiry_time DATETIME(6),
+    otp         VARCHAR(255),
+    verified    BIT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_documents (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    document_name       VARCHAR(255),
+    document_path       VARCHAR(255),
+    uploaded_at         DATETIME(6),
+    verification_status ENUM ('PENDING', 'APPROVED', 'REJECTED'),
+    user_id             BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_user_documents_user FOREIGN KEY (user_id) REFERENCES user (id)
+);
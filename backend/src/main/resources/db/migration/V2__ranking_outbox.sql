@@ -0,0 +1,14 @@
+-- Ranking cache invalidations are recorded in the same transaction as the room or review change
+-- and forwarded to the ranking service by RankingOutboxService
+CREATE TABLE ranking_outbox_event (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    attempts      INTEGER NOT NULL,
+    created_at    DATETIME(6) NOT NULL,
+    dispatched_at DATETIME(6),
+    last_error    VARCHAR(1000),
+    locality      VARCHAR(255),
+    room_id       BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_ranking_outbox_pending ON ranking_outbox_event (dispatched_at, id);
@@ -0,0 +1,3 @@
+-- Keyset pages of a room's reviews, newest first or by rating, each with the id as tie-breaker
+CREATE INDEX idx_room_review_room_created ON room_review (room_id, created_at, id);
+CREATE INDEX idx_room_review_room_rating ON room_review (room_id, rating, id);
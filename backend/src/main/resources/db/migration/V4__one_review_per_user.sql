@@ -0,0 +1,8 @@
+-- One review per user and room. Earlier duplicates are removed first, keeping each user's
+-- latest review of the room. The derived table lets MySQL read room_review while deleting from it.
+DELETE FROM room_review
+WHERE room_id IS NOT NULL
+  AND user_id IS NOT NULL
+  AND id NOT IN (SELECT id FROM (SELECT MAX(id) AS id FROM room_review GROUP BY room_id, user_id) AS latest);
+
+ALTER TABLE room_review ADD CONSTRAINT uk_room_review_room_user UNIQUE (room_id, user_id);
@@ -0,0 +1,3 @@
+-- A conversation is read from both sides: messages sent by one user to another, in id order
+CREATE INDEX idx_chat_sender_receiver ON chat_message (sender_id, receiver_id, id);
+CREATE INDEX idx_chat_receiver_sender ON chat_message (receiver_id, sender_id, id);
@@ -0,0 +1,7 @@
+-- Optional room coordinates and their precision-5 geohash cell for radius and bounding-box search.
+-- Existing rooms have no coordinates, so their geohash stays NULL.
+ALTER TABLE room ADD COLUMN latitude FLOAT(53);
+ALTER TABLE room ADD COLUMN longitude FLOAT(53);
+ALTER TABLE room ADD COLUMN geohash VARCHAR(5);
+
+CREATE INDEX idx_room_geohash ON room (geohash);
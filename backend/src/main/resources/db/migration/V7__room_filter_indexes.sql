@@ -0,0 +1,4 @@
+-- Filter API: the common leading filters, each followed by the default price sort
+CREATE INDEX idx_room_available_price ON room (is_available, price);
+CREATE INDEX idx_room_type_furnished_price ON room (room_type, furnished, price);
+CREATE INDEX idx_room_available_from ON room (available_from);
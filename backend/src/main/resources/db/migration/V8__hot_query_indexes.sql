@@ -0,0 +1,17 @@
+-- Indexes for the repository lookups that still scanned. Foreign key columns (room.user_id,
+-- user_documents.user_id, room_review.user_id, ...) are already indexed by their constraints.
+
+-- ChatMessageRepository.findBySenderIdAndReceiverIdOrderByTimestampAsc and the latest-message lookup
+CREATE INDEX idx_chat_sender_receiver_time ON chat_message (sender_id, receiver_id, timestamp);
+
+-- SessionRepository.findByRefreshToken on every token refresh
+CREATE INDEX idx_session_refresh_token ON session (refresh_token);
+
+-- SessionRepository.findByUser, oldest session first when the per-user limit is hit
+CREATE INDEX idx_session_user_last_used ON session (user_id, last_used_at);
+
+-- OtpVerificationRepository.findByEmail / deleteByEmail
+CREATE INDEX idx_otp_verification_email ON otp_verification (email);
+
+-- RoomRepository.countByLocation feeds the location typeahead straight from the index
+CREATE INDEX idx_room_location ON room (location);
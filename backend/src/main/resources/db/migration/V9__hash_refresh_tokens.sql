@@ -0,0 +1,8 @@
+-- Sessions are looked up by a SHA-256 hash of the refresh token instead of the raw token.
+-- Raw tokens cannot be hashed portably in SQL, so existing sessions end and users sign in again.
+DELETE FROM session;
+
+DROP INDEX idx_session_refresh_token ON session;
+ALTER TABLE session DROP COLUMN refresh_token;
+ALTER TABLE session ADD COLUMN token_hash VARCHAR(64) NOT NULL;
+ALTER TABLE session ADD CONSTRAINT uk_session_token_hash UNIQUE (token_hash);
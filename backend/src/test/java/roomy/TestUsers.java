@@ -0,0 +1,32 @@
+package roomy;
+
+import roomy.entities.User;
+import roomy.entities.enums.Role;
+import roomy.repositories.UserRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Users for tests that only need someone to own or review a room: a plain USER whose
+ * password is never checked. Unique emails keep tests that share a database apart.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User save(UserRepository userRepository) {
+        return save(userRepository, "user-" + UUID.randomUUID() + "@roomy.test");
+    }
+
+    public static User save(UserRepository userRepository, String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Test User");
+        user.setPassword("not-used");
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,188 @@
+package roomy.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import roomy.TestUsers;
+import roomy.dto.UserDto;
+import roomy.entities.Room;
+import roomy.entities.User;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.UserRepository;
+import roomy.services.AdminService;
+import roomy.services.RoomService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two H2 databases stand in for a primary and its replica. The replica is not replicated:
+ * it holds a user the primary does not have, which shows where each read was served from,
+ * and a replication_status table whose value the lag check reads. The JCache manager is shared
+ * by every test context in the JVM, so the second-level cache regions get their own prefix:
+ * ids in this primary overlap ids cached by contexts on the default database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:roomy-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.region_prefix=replica-routing",
+        "read-replicas.enabled=true",
+        "read-replicas.instances[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "read-replicas.lag-query=SELECT seconds_behind_source FROM replication_status",
+        "read-replicas.lag-column=seconds_behind_source",
+        "read-replicas.max-lag=5s"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:roomy-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_ONLY = "replica-only@roomy.test";
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate replica;
+
+    @BeforeAll
+    void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.execute("CREATE TABLE replication_status (seconds_behind_source BIGINT)");
+        replica.update("INSERT INTO replication_status VALUES (0)");
+        replica.update("INSERT INTO user (id, email, is_verified, name) VALUES (900001, ?, FALSE, 'Replica Only')",
+                REPLICA_ONLY);
+    }
+
+    @BeforeEach
+    void replicaInSync() {
+        setLag(0);
+    }
+
+    @Test
+    void readOnlyServiceTransactionsAreServedByTheReplica() {
+        double replicaReads = reads("replica");
+
+        assertTrue(emails(adminService.getAllUsers()).contains(REPLICA_ONLY));
+        assertEquals(replicaReads + 1, reads("replica"));
+    }
+
+    @Test
+    void replicaReadsAreNotPutInTheSecondLevelCache() {
+        Long replicaOnlyId = replica.queryForObject("SELECT id FROM user WHERE email = ?", Long.class, REPLICA_ONLY);
+
+        assertTrue(emails(adminService.getAllUsers()).contains(REPLICA_ONLY));
+        assertFalse(entityManagerFactory.getCache().contains(User.class, replicaOnlyId));
+    }
+
+    @Test
+    void cachedRoomReadsStayOnThePrimary() {
+        Room room = new Room();
+        room.setTitle("Just listed");
+        room.setPrice(12000.0);
+        room.setLocation("Indiranagar");
+        room.setUser(TestUsers.save(userRepository, "lister@roomy.test"));
+        Long roomId = roomRepository.save(room).getId();
+
+        // The replica never sees the room; a cached read from it would 404 until the entry expires
+        assertEquals("Just listed", roomService.getRoomById(roomId).getTitle());
+    }
+
+    @Test
+    void cachedRandomRoomPoolIsFilledFromThePrimary() throws Exception {
+        Room room = new Room();
+        room.setTitle("Available now");
+        room.setPrice(8000.0);
+        room.setLocation("Koramangala");
+        room.setAvailable(true);
+        room.setUser(TestUsers.save(userRepository, "random-lister@roomy.test"));
+        roomRepository.save(room);
+
+        // The replica has no rooms, so a pool loaded from it would stay empty until the entry expires
+        mockMvc.perform(get("/api/room/random").param("count", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.title == 'Available now')]").exists());
+    }
+
+    @Test
+    void writesAndRepositoryReadsStayOnThePrimary() {
+        User user = TestUsers.save(userRepository, "primary-write@roomy.test");
+
+        assertTrue(userRepository.findByEmail(REPLICA_ONLY).isEmpty());
+        assertTrue(userRepository.findByEmail(user.getEmail()).isPresent());
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM user WHERE email = ?", Integer.class,
+                user.getEmail()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        TestUsers.save(userRepository, "lagging@roomy.test");
+        setLag(60);
+
+        double primaryReads = reads("primary");
+
+        List<String> emails = emails(adminService.getAllUsers());
+        assertFalse(emails.contains(REPLICA_ONLY));
+        assertTrue(emails.contains("lagging@roomy.test"));
+        assertEquals(primaryReads + 1, reads("primary"));
+    }
+
+    @Test
+    void unknownLagTakesTheReplicaOutOfRotation() {
+        replica.update("UPDATE replication_status SET seconds_behind_source = NULL");
+        replicaDataSource.refreshLag();
+
+        assertFalse(emails(adminService.getAllUsers()).contains(REPLICA_ONLY));
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("datasource.reads").tag("target", target).counter().count();
+    }
+
+    private void setLag(long seconds) {
+        replica.update("UPDATE replication_status SET seconds_behind_source = ?", seconds);
+        replicaDataSource.refreshLag();
+    }
+
+    private static List<String> emails(List<UserDto> users) {
+        return users.stream().map(UserDto::getEmail).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package roomy.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.entities.Room;
+import roomy.entities.User;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.UserRepository;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the context with the Hibernate cache settings from application.yml and the region
+ * bounds from application.conf, which every other test inherits but none checks directly.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void regionsUseTheBoundsFromApplicationConf() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(RegionFactory.class);
+        CacheManager cacheManager = assertInstanceOf(JCacheRegionFactory.class, regionFactory).getCacheManager();
+
+        assertEquals(OptionalLong.of(20_000), maximumSize(cacheManager, "room"));
+        assertEquals(OptionalLong.of(20_000), maximumSize(cacheManager, "room_images"));
+        assertEquals(OptionalLong.of(10_000), maximumSize(cacheManager, "user"));
+        assertEquals(OptionalLong.of(10_000), maximumSize(cacheManager, "user_roles"));
+        assertEquals(OptionalLong.of(10_000), maximumSize(cacheManager, "profile"));
+        assertEquals(OptionalLong.of(5_000), maximumSize(cacheManager, "default-query-results-region"));
+    }
+
+    @Test
+    void loadedRoomsAreServedFromTheCache() {
+        User owner = TestUsers.save(userRepository);
+
+        Room room = new Room();
+        room.setTitle("Cached room");
+        room.setPrice(9000.0);
+        room.setLocation("Indiranagar");
+        room.setUser(owner);
+        Long roomId = roomRepository.save(room).getId();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Room.class, roomId);
+
+        roomRepository.findById(roomId).orElseThrow();
+
+        assertTrue(sessionFactory.getCache().containsEntity(Room.class, roomId));
+    }
+
+    private static OptionalLong maximumSize(CacheManager cacheManager, String region) {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(region);
+        return cache.getConfiguration(CaffeineConfiguration.class).getMaximumSize();
+    }
+}
@@ -0,0 +1,228 @@
+package roomy.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import roomy.entities.ChatMessage;
+import roomy.entities.Profile;
+import roomy.entities.Room;
+import roomy.entities.RoomReview;
+import roomy.entities.User;
+import roomy.entities.enums.Role;
+import roomy.repositories.ChatMessageRepository;
+import roomy.repositories.ProfileRepository;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.RoomReviewRepository;
+import roomy.repositories.UserRepository;
+import roomy.services.JwtService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each endpoint must issue a fixed number of statements no matter how many rooms,
+ * reviews, owners or chat partners come back. The JWT filter's user lookup counts
+ * towards authenticated endpoints. Counts are taken with every cache empty, so an N+1
+ * can't hide behind a warm cache; the second-level cache is checked separately.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+    private static final int OWNERS = 4;
+    private static final int ROOMS_PER_OWNER = 3;
+    private static final int CHAT_PARTNERS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomReviewRepository reviewRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String location;
+    private User admin;
+    private Long roomId;
+
+    @BeforeEach
+    void seed() {
+        location = "Locality-" + UUID.randomUUID();
+        admin = saveUser(Role.ADMIN);
+
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            owners.add(saveUser(Role.USER));
+        }
+
+        for (User owner : owners) {
+            for (int i = 0; i < ROOMS_PER_OWNER; i++) {
+                Room room = new Room();
+                room.setTitle("Room " + i);
+                room.setPrice(10000.0 + i);
+                room.setLocation(location);
+                room.setAvailable(true);
+                room.setImageUrls(new ArrayList<>(List.of("/uploads/rooms/a.jpg", "/uploads/rooms/b.jpg")));
+                room.setUser(owner);
+                room = roomRepository.save(room);
+                if (roomId == null) {
+                    roomId = room.getId();
+                }
+
+                for (User reviewer : owners) {
+                    if (reviewer != owner) {
+                        reviewRepository.save(RoomReview.builder()
+                                .room(room)
+                                .user(reviewer)
+                                .rating(4)
+                                .reviewComment("Nice")
+                                .build());
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < CHAT_PARTNERS; i++) {
+            User partner = saveUser(Role.USER);
+            for (int m = 0; m < 3; m++) {
+                chatMessageRepository.save(ChatMessage.builder()
+                        .sender(m % 2 == 0 ? admin : partner)
+                        .receiver(m % 2 == 0 ? partner : admin)
+                        .content("message " + m)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void listingAllRoomsIsOneStatement() throws Exception {
+        assertStatements(get("/api/room"), 1);
+    }
+
+    @Test
+    void roomByIdLoadsRoomImagesAndOwnerTogether() throws Exception {
+        assertStatements(get("/api/room/" + roomId), 1);
+    }
+
+    @Test
+    void roomByIdIsServedFromTheSecondLevelCache() throws Exception {
+        RequestBuilder request = get("/api/room/" + roomId);
+        mockMvc.perform(request).andExpect(status().isOk());
+        // Only the entity cache should answer, not the response cache in front of it
+        clearResponseCaches();
+
+        assertMaxStatements(request, 0);
+    }
+
+    @Test
+    void searchLoadsRoomsThenReviewsForAllOfThem() throws Exception {
+        assertStatements(get("/api/room/search").param("location", location), 2);
+    }
+
+    @Test
+    void searchSummaryLoadsRoomsThenStatsForAllOfThem() throws Exception {
+        assertStatements(get("/api/room/search/summary").param("location", location), 2);
+
+        mockMvc.perform(get("/api/room/search/summary").param("location", location))
+                .andExpect(jsonPath("$.length()").value(OWNERS * ROOMS_PER_OWNER))
+                .andExpect(jsonPath("$[0].reviewStats.reviewCount").value(OWNERS - 1))
+                .andExpect(jsonPath("$[0].reviewStats.ratingHistogram.4").value(OWNERS - 1));
+    }
+
+    @Test
+    void reviewStatsAreOneGroupedQuery() throws Exception {
+        assertStatements(get("/api/room-reviews/room/" + roomId + "/stats"), 1);
+
+        mockMvc.perform(get("/api/room-reviews/room/" + roomId + "/stats"))
+                .andExpect(jsonPath("$.reviewCount").value(OWNERS - 1))
+                .andExpect(jsonPath("$.averageRating").value(4.0));
+    }
+
+    @Test
+    void recentChatsDoNotFanOutPerPartner() throws Exception {
+        // user lookup, conversation heads, messages with partner and profile
+        assertStatements(get("/api/chat/recent").header("Authorization", bearer(admin)), 3);
+    }
+
+    @Test
+    void adminUserListFetchesRolesAndProfilesTogether() throws Exception {
+        assertStatements(get("/admin/users").header("Authorization", bearer(admin)), 2);
+    }
+
+    private void assertStatements(RequestBuilder request, long maxStatements) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        clearResponseCaches();
+        assertMaxStatements(request, maxStatements);
+    }
+
+    private void assertMaxStatements(RequestBuilder request, long maxStatements) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " statements but got " + statements);
+    }
+
+    private void clearResponseCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.generateAccessToken(user);
+    }
+
+    private User saveUser(Role role) {
+        User user = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@roomy.test")
+                .password("secret")
+                .name("User " + role)
+                .roles(new HashSet<>(Set.of(role)))
+                .build());
+        profileRepository.save(Profile.builder()
+                .user(user)
+                .fullName(user.getName())
+                .profileImageUrl("/uploads/profile-images/" + user.getId() + ".jpg")
+                .build());
+        return user;
+    }
+}
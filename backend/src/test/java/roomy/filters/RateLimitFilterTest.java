@@ -0,0 +1,158 @@
+package roomy.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "rate-limit.policies.login-email.capacity=2")
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    private static final AtomicInteger CLIENTS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Test
+    void rejectsOnceTheBucketIsEmptyWithoutTouchingTheDatabase() throws Exception {
+        String email = "limited-" + UUID.randomUUID() + "@roomy.test";
+        mockMvc.perform(login(email)).andExpect(status().isUnauthorized());
+        mockMvc.perform(login(email.toUpperCase())).andExpect(status().isUnauthorized());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(login(email))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(meterRegistry.get("rate.limit.rejections").tag("policy", "login-email").counter().count() >= 1);
+
+        // Other addresses keep their own bucket, and the body still reaches the controller
+        mockMvc.perform(login("other-" + email)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void chunkedBodiesAreStillKeyedByTheirField() throws Exception {
+        String email = "chunked-" + UUID.randomUUID() + "@roomy.test";
+        assertEquals(200, filter(chunkedLogin(email, "")).getStatus());
+        assertEquals(200, filter(chunkedLogin(email, "")).getStatus());
+
+        assertEquals(429, filter(chunkedLogin(email, "")).getStatus());
+    }
+
+    @Test
+    void oversizedBodiesAreRejectedRatherThanLetThrough() throws Exception {
+        String padding = " ".repeat(20_000);
+
+        assertEquals(413, filter(chunkedLogin("padded-" + UUID.randomUUID() + "@roomy.test", padding)).getStatus());
+    }
+
+    @Test
+    void bufferedBodySupportsNonBlockingReads() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        rateLimitFilter.doFilter(chunkedLogin("async-" + UUID.randomUUID() + "@roomy.test", ""),
+                new MockHttpServletResponse(), chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        List<String> events = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data:" + new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("async-"));
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data:true", "done"), events);
+    }
+
+    @Test
+    void bucketRefillsOverThePeriod() {
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(1_000, 2);
+        long now = System.nanoTime();
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now) > 0);
+        assertEquals(0, bucket.tryAcquire(now + 1_000));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    // A chunked upload: no Content-Length, and a fresh client address so the ip policy stays out of the way
+    private MockHttpServletRequest chunkedLogin(String email, String padding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        int client = CLIENTS.incrementAndGet();
+        request.setRemoteAddr("10.0." + (client / 250) + "." + (client % 250));
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(("{\"email\":\"" + email + "\"," + padding + "\"password\":\"x\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private RequestBuilder login(String email) {
+        return post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}");
+    }
+}
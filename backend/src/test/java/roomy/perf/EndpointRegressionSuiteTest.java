@@ -0,0 +1,215 @@
+package roomy.perf;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import roomy.dto.JobStatusDto;
+import roomy.repositories.UserRepository;
+import roomy.services.JwtService;
+import roomy.services.RoomSearchIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Seeds 10k rooms, 100k reviews and 1M chat messages, then measures every read endpoint
+ * (and the hot write paths) for SQL statements and median wall time against the budgets in
+ * perf/endpoint-budgets.properties. Run with {@code mvn -Pperf test}; add
+ * {@code -Dperf.record=true} to write the measured values to target/perf instead of failing.
+ */
+@Tag("perf")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointRegressionSuiteTest {
+
+    private static final int WARMUP = Integer.getInteger("perf.warmup", 2);
+    private static final int ITERATIONS = Integer.getInteger("perf.iterations", 5);
+    // Wall time varies across machines far more than statement counts do
+    private static final double TIME_TOLERANCE = Double.parseDouble(System.getProperty("perf.time-tolerance", "1.0"));
+    private static final boolean RECORD = Boolean.getBoolean("perf.record");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomSearchIndex roomSearchIndex;
+
+    private PerfDataSeeder data;
+    private Properties budgets;
+    private final Map<String, String> measured = new TreeMap<>();
+
+    @BeforeAll
+    void seed() throws IOException {
+        data = new PerfDataSeeder(jdbcTemplate);
+        data.seed();
+        roomSearchIndex.rebuild(new JobStatusDto());
+
+        budgets = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/perf/endpoint-budgets.properties")) {
+            budgets.load(in);
+        }
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        Path dir = Path.of("target", "perf");
+        Files.createDirectories(dir);
+        try (Writer out = Files.newBufferedWriter(dir.resolve(RECORD ? "endpoint-budgets.properties" : "endpoint-report.properties"))) {
+            for (Map.Entry<String, String> entry : measured.entrySet()) {
+                out.write(entry.getKey() + "=" + entry.getValue() + System.lineSeparator());
+            }
+        }
+    }
+
+    record Endpoint(String name, Supplier<MockHttpServletRequestBuilder> request) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    Stream<Endpoint> endpoints() {
+        String location = PerfDataSeeder.locality(7);
+        Long roomId = data.roomIds.get(0);
+        Long admin = data.admin();
+        Long owner = data.owner();
+        Long partner = data.userIds.get(data.userIds.size() / 2);
+
+        return Stream.of(
+                new Endpoint("rooms.all", () -> get("/api/room")),
+                new Endpoint("rooms.byId", () -> get("/api/room/" + roomId)),
+                new Endpoint("rooms.mine", () -> as(owner, get("/api/room/mine"))),
+                new Endpoint("rooms.search", () -> get("/api/room/search").param("location", location)),
+                new Endpoint("rooms.searchSummary", () -> get("/api/room/search/summary").param("location", location)),
+                new Endpoint("rooms.query", () -> get("/api/room/query").param("query", location)),
+                new Endpoint("rooms.random", () -> get("/api/room/random").param("count", "12")),
+                new Endpoint("rooms.filter", () -> get("/api/room/filter")
+                        .param("roomType", "SHARED")
+                        .param("furnished", "true")
+                        .param("maxPrice", "12000")
+                        .param("sort", "PRICE_ASC")),
+                new Endpoint("rooms.fulltext", () -> get("/api/room/fulltext")
+                        .param("q", "seded room")
+                        .param("maxPrice", "10000")),
+                new Endpoint("rooms.nearby", () -> get("/api/room/nearby")
+                        .param("lat", String.valueOf(PerfDataSeeder.CENTER_LAT))
+                        .param("lng", String.valueOf(PerfDataSeeder.CENTER_LNG))
+                        .param("radiusKm", "3")),
+                new Endpoint("rooms.within", () -> get("/api/room/within")
+                        .param("minLat", "12.93").param("minLng", "77.55")
+                        .param("maxLat", "13.01").param("maxLng", "77.63")),
+                new Endpoint("rooms.updateStatus", () -> as(owner, put("/api/room/" + roomId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"AVAILABLE\"}"))),
+                new Endpoint("reviews.page", () -> get("/api/room-reviews/room/" + roomId)),
+                new Endpoint("reviews.stats", () -> get("/api/room-reviews/room/" + roomId + "/stats")),
+                new Endpoint("chat.recent", () -> as(admin, get("/api/chat/recent"))),
+                new Endpoint("chat.users", () -> as(admin, get("/api/chat/users"))),
+                new Endpoint("chat.conversation", () -> get("/api/chat/conversation")
+                        .param("senderId", admin.toString())
+                        .param("receiverId", partner.toString())),
+                new Endpoint("chat.send", () -> post("/api/chat/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"senderId\":" + admin + ",\"receiverId\":" + partner + ",\"content\":\"ping\"}")),
+                new Endpoint("profile.me", () -> as(owner, get("/profile/me"))),
+                new Endpoint("documents.mine", () -> as(owner, get("/documents/my-documents"))),
+                new Endpoint("admin.users", () -> as(admin, get("/admin/users"))),
+                new Endpoint("admin.allRooms", () -> as(admin, get("/admin/allRooms"))),
+                new Endpoint("admin.documents", () -> as(admin, get("/admin/documents")))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void staysWithinBudget(Endpoint endpoint) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < WARMUP; i++) {
+            mockMvc.perform(endpoint.request().get()).andExpect(status().is2xxSuccessful());
+        }
+
+        long statements = 0;
+        long[] millis = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            // Built first: the auth token lookup must not count against the endpoint
+            MockHttpServletRequestBuilder request = endpoint.request().get();
+            statistics.clear();
+            long start = System.nanoTime();
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+            statements = Math.max(statements, statistics.getPrepareStatementCount());
+        }
+        Arrays.sort(millis);
+        long medianMillis = millis[ITERATIONS / 2];
+        measured.put(endpoint.name(), statements + "," + medianMillis);
+
+        if (RECORD) {
+            return;
+        }
+        String budget = budgets.getProperty(endpoint.name());
+        if (budget == null) {
+            fail("No budget for " + endpoint.name() + " (measured " + statements + " statements, " + medianMillis + " ms)");
+        }
+        String[] limits = budget.split(",");
+        long maxStatements = Long.parseLong(limits[0].trim());
+        long maxMillis = Math.round(Long.parseLong(limits[1].trim()) * TIME_TOLERANCE);
+
+        List<String> regressions = new ArrayList<>();
+        if (statements > maxStatements) {
+            regressions.add(statements + " statements > budget " + maxStatements);
+        }
+        if (medianMillis > maxMillis) {
+            regressions.add("median " + medianMillis + " ms > budget " + maxMillis + " ms");
+        }
+        assertTrue(regressions.isEmpty(), endpoint.name() + ": " + String.join("; ", regressions));
+    }
+
+    private MockHttpServletRequestBuilder as(Long userId, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + jwtService.generateAccessToken(
+                userRepository.findWithRolesAndProfileById(userId).orElseThrow()));
+    }
+}
@@ -0,0 +1,196 @@
+package roomy.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import roomy.utils.GeoHash;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads realistic volumes straight through JDBC batches; going through the repositories
+ * would take longer than the suite itself. Shared with the JMH benchmarks in src/jmh.
+ */
+public class PerfDataSeeder {
+
+    public static final int LOCALITIES = 50;
+    // Rooms scatter evenly over a ~50 x 55 km box around this point
+    public static final double CENTER_LAT = 12.97;
+    public static final double CENTER_LNG = 77.59;
+    private static final int BATCH = 10_000;
+    // Above every allocation size in the entities' TableGenerators
+    private static final int ID_HEADROOM = 1_000;
+
+    private final JdbcTemplate jdbc;
+
+    final int users;
+    final int rooms;
+    final int reviews;
+    final int chatMessages;
+
+    public List<Long> userIds = new ArrayList<>();
+    public List<Long> roomIds = new ArrayList<>();
+
+    public PerfDataSeeder(JdbcTemplate jdbc) {
+        this(jdbc, Integer.getInteger("perf.users", 1_000), Integer.getInteger("perf.rooms", 10_000),
+                Integer.getInteger("perf.reviews", 100_000), Integer.getInteger("perf.chat-messages", 1_000_000));
+    }
+
+    public PerfDataSeeder(JdbcTemplate jdbc, int users, int rooms, int reviews, int chatMessages) {
+        this.jdbc = jdbc;
+        this.users = users;
+        this.rooms = rooms;
+        this.reviews = reviews;
+        this.chatMessages = chatMessages;
+    }
+
+    public static String locality(int index) {
+        return String.format("Area-%03d", index % LOCALITIES);
+    }
+
+    public static double latitude(int index) {
+        return CENTER_LAT - 0.225 + (index * 7919L % 10007) / 10007.0 * 0.45;
+    }
+
+    public static double longitude(int index) {
+        return CENTER_LNG - 0.25 + (index * 104729L % 10009) / 10009.0 * 0.5;
+    }
+
+    public void seed() {
+        seedUsers();
+        seedRooms();
+        seedReviews();
+        seedChatMessages();
+    }
+
+    // The first user is the admin and the busiest chat participant
+    public Long admin() {
+        return userIds.get(0);
+    }
+
+    // Owner of the first room
+    public Long owner() {
+        return userIds.get(1);
+    }
+
+    private void seedUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{"perf-user-" + i + "@roomy.test", "not-a-hash", "Perf User " + i, true});
+        }
+        batch("INSERT INTO user (email, password, name, is_verified) VALUES (?, ?, ?, ?)", rows);
+        userIds = jdbc.queryForList("SELECT id FROM user WHERE email LIKE 'perf-user-%' ORDER BY id", Long.class);
+
+        rows.clear();
+        for (int i = 0; i < userIds.size(); i++) {
+            rows.add(new Object[]{userIds.get(i), i == 0 ? "ADMIN" : "USER"});
+        }
+        batch("INSERT INTO user_roles (user_id, roles) VALUES (?, ?)", rows);
+
+        rows.clear();
+        for (Long userId : userIds) {
+            rows.add(new Object[]{userId, "Perf User " + userId, "/uploads/profile-images/" + userId + ".jpg",
+                    false, Timestamp.valueOf(now)});
+        }
+        batch("INSERT INTO profiles (user_id, full_name, profile_image_url, verification_status, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedRooms() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long firstId = reserveIds("room", rooms);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            // Every owner except the admin gets rooms; the first room belongs to owner()
+            Long ownerId = userIds.get(1 + i % (userIds.size() - 1));
+            rows.add(new Object[]{firstId + i, "Room " + i, "Seeded room number " + i, 8000.0 + (i % 40) * 250,
+                    locality(i), latitude(i), longitude(i), GeoHash.encode(latitude(i), longitude(i)),
+                    i % 2 == 0, i % 3 == 0 ? "SHARED" : "PRIVATE", "AVAILABLE", true,
+                    1 + i % 4, now, ownerId});
+        }
+        batch("INSERT INTO room (id, title, description, price, location, latitude, longitude, geohash, furnished, " +
+                "room_type, status, is_available, max_occupancy, created_at, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        roomIds = jdbc.queryForList("SELECT id FROM room WHERE title LIKE 'Room %' ORDER BY id", Long.class);
+
+        rows.clear();
+        for (Long roomId : roomIds) {
+            rows.add(new Object[]{roomId, "/uploads/rooms/" + roomId + "-a.jpg"});
+            rows.add(new Object[]{roomId, "/uploads/rooms/" + roomId + "-b.jpg"});
+        }
+        batch("INSERT INTO room_image_urls (room_id, image_urls) VALUES (?, ?)", rows);
+    }
+
+    private void seedReviews() {
+        int perRoom = Math.max(1, reviews / roomIds.size());
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        long nextId = reserveIds("room_review", roomIds.size() * perRoom);
+        List<Object[]> rows = new ArrayList<>();
+        for (int r = 0; r < roomIds.size(); r++) {
+            for (int k = 0; k < perRoom; k++) {
+                // Stride keeps reviewers distinct per room so the (room, user) unique key holds
+                Long reviewerId = userIds.get((r * 7 + k * 101) % userIds.size());
+                rows.add(new Object[]{nextId++, roomIds.get(r), reviewerId, 1 + (r + k) % 5,
+                        "Review " + k + " of room " + r, Timestamp.valueOf(base.plusMinutes((long) r * perRoom + k))});
+            }
+            if (rows.size() >= BATCH) {
+                insertReviews(rows);
+                rows.clear();
+            }
+        }
+        insertReviews(rows);
+    }
+
+    private void insertReviews(List<Object[]> rows) {
+        batch("INSERT INTO room_review (id, room_id, user_id, rating, review_comment, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedChatMessages() {
+        int half = userIds.size() / 2;
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        long firstId = reserveIds("chat_message", chatMessages);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < chatMessages; i++) {
+            // Senders from the first half talk to receivers from the second half, admin included
+            Long sender = userIds.get(i % half);
+            Long receiver = userIds.get(half + (i / half) % half);
+            boolean reply = i % 3 == 0;
+            rows.add(new Object[]{firstId + i, "Message " + i, Timestamp.valueOf(base.plusSeconds(i)),
+                    reply ? receiver : sender, reply ? sender : receiver});
+            if (rows.size() >= BATCH) {
+                insertMessages(rows);
+                rows.clear();
+            }
+        }
+        insertMessages(rows);
+    }
+
+    private void insertMessages(List<Object[]> rows) {
+        batch("INSERT INTO chat_message (id, content, timestamp, sender_id, receiver_id) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    // These tables take ids from pooled blocks in id_generator: claim a range above anything handed
+    // out so far and move the counter past it, leaving room for a block the application holds
+    private long reserveIds(String table, int count) {
+        List<Long> current = jdbc.queryForList("SELECT next_val FROM id_generator WHERE name = ?",
+                Long.class, table);
+        long last = current.isEmpty() || current.get(0) == null ? 0 : current.get(0);
+        long next = last + count + ID_HEADROOM;
+        if (current.isEmpty()) {
+            jdbc.update("INSERT INTO id_generator (name, next_val) VALUES (?, ?)", table, next);
+        } else {
+            jdbc.update("UPDATE id_generator SET next_val = ? WHERE name = ?", next, table);
+        }
+        return last + 1;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH)));
+        }
+    }
+}
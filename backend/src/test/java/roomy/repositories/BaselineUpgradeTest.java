@@ -0,0 +1,42 @@
+package roomy.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Upgrades a database holding the V1 baseline schema, with data that the later constraints
+ * reject, the way a database from the last ddl-auto release is upgraded after baseline-on-migrate.
+ */
+class BaselineUpgradeTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:roomy-baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void upgradeKeepsEachUsersLatestReviewOfARoom() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO user (id, email, is_verified) VALUES (1, 'owner@roomy.test', TRUE)");
+        jdbc.update("INSERT INTO user (id, email, is_verified) VALUES (2, 'reviewer@roomy.test', TRUE)");
+        jdbc.update("INSERT INTO room (id, furnished, is_available, location, max_occupancy, price, title, user_id) " +
+                "VALUES (10, FALSE, TRUE, 'Indiranagar', 1, 9000, 'Loft', 1)");
+        String review = "INSERT INTO room_review (id, created_at, rating, review_comment, room_id, user_id) " +
+                "VALUES (?, CURRENT_TIMESTAMP, ?, ?, 10, ?)";
+        jdbc.update(review, 100, 2, "first", 2);
+        jdbc.update(review, 101, 4, "owner", 1);
+        jdbc.update(review, 102, 5, "changed my mind", 2);
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertEquals(List.of("owner", "changed my mind"),
+                jdbc.queryForList("SELECT review_comment FROM room_review ORDER BY id", String.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM room WHERE geohash IS NOT NULL", Integer.class));
+    }
+}
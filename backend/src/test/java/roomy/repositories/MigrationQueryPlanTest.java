@@ -0,0 +1,333 @@
+package roomy.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import roomy.dto.room.RoomFilterDto;
+import roomy.entities.enums.OtpPurpose;
+import roomy.perf.PerfDataSeeder;
+import roomy.utils.GeoHash;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Builds the schema from the Flyway scripts alone, has Hibernate validate its mappings against it,
+ * seeds it and checks that the SQL each hot repository method actually sends is planned without a
+ * full table scan. Substring searches
+ * (findByLocationContainingIgnoreCase, searchByTitleOrLocation) are left out: no B-tree index
+ * serves them and they are answered by the full-text index instead.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:roomy-migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        // Its own cache regions, so rolled-back seed rows never reach contexts on the default database
+        "spring.jpa.properties.hibernate.cache.region_prefix=migration-plans",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MigrationQueryPlanTest {
+
+    private static final List<String> TABLES = List.of("user", "profiles", "room", "room_review", "chat_message",
+            "session", "otp_verification", "user_documents", "ranking_outbox_event");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private OtpVerificationRepository otpVerificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserDocumentRepository userDocumentRepository;
+
+    @Autowired
+    private RoomReviewRepository roomReviewRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RankingOutboxEventRepository rankingOutboxEventRepository;
+
+    private PerfDataSeeder data;
+    private boolean h2;
+
+    @BeforeAll
+    void seed() {
+        data = new PerfDataSeeder(jdbcTemplate, 500, 5_000, 25_000, 50_000);
+        data.seed();
+        seedAuthAndOutbox();
+
+        h2 = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "H2".equals(connection.getMetaData().getDatabaseProductName()));
+        // Plans depend on row counts and selectivity, so refresh the statistics after seeding
+        if (h2) {
+            jdbcTemplate.execute("ANALYZE");
+        } else {
+            TABLES.forEach(table -> jdbcTemplate.execute("ANALYZE TABLE " + table));
+        }
+    }
+
+    private void seedAuthAndOutbox() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> sessions = new ArrayList<>();
+        List<Object[]> otps = new ArrayList<>();
+        List<Object[]> documents = new ArrayList<>();
+        for (Long userId : data.userIds) {
+            for (int i = 0; i < 4; i++) {
+                sessions.add(new Object[]{tokenHash(userId, i), now, userId});
+            }
+            otps.add(new Object[]{"perf-user-" + userId + "@roomy.test", "PASSWORD_RESET", "123456", now});
+            documents.add(new Object[]{"id.pdf", "/uploads/documents/" + userId + ".pdf", now, "PENDING", userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO session (token_hash, last_used_at, user_id) VALUES (?, ?, ?)", sessions);
+        jdbcTemplate.batchUpdate("INSERT INTO otp_verification (email, purpose, otp, expiry_time) VALUES (?, ?, ?, ?)", otps);
+        jdbcTemplate.batchUpdate("INSERT INTO user_documents (document_name, document_path, uploaded_at, " +
+                "verification_status, user_id) VALUES (?, ?, ?, ?, ?)", documents);
+
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // Almost everything has been dispatched, as in a healthy outbox
+            events.add(new Object[]{PerfDataSeeder.locality(i), now, i % 500 == 0 ? null : now, 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ranking_outbox_event (locality, created_at, dispatched_at, attempts) " +
+                "VALUES (?, ?, ?, ?)", events);
+    }
+
+    private static String tokenHash(Long userId, int session) {
+        return String.format("%064x", userId * 10 + session);
+    }
+
+    /**
+     * A hot repository call. {@code indexMerge} marks OR-across-columns predicates, which MySQL
+     * answers with an index merge but H2 can only plan as a scan.
+     */
+    record HotQuery(String method, boolean indexMerge, Runnable call) {
+        @Override
+        public String toString() {
+            return method;
+        }
+    }
+
+    Stream<HotQuery> queries() {
+        Long admin = data.admin();
+        Long owner = data.owner();
+        Long partner = data.userIds.get(data.userIds.size() / 2);
+        Long roomId = data.roomIds.get(0);
+        Long otherRoomId = data.roomIds.get(1);
+        String email = "perf-user-" + owner + "@roomy.test";
+        String cell = GeoHash.encode(PerfDataSeeder.latitude(0), PerfDataSeeder.longitude(0));
+        RoomFilterDto filter = new RoomFilterDto();
+        filter.setRoomType(List.of("SHARED"));
+        filter.setFurnished(true);
+        filter.setMaxPrice(9000.0);
+
+        return Stream.of(
+                new HotQuery("ChatMessageRepository.findBySenderIdAndReceiverIdOrderByTimestampAsc", false,
+                        () -> chatMessageRepository.findBySenderIdAndReceiverIdOrderByTimestampAsc(admin, partner)),
+                new HotQuery("ChatMessageRepository.findTopBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampDesc", true,
+                        () -> chatMessageRepository.findTopBySenderIdAndReceiverIdOrSenderIdAndReceiverIdOrderByTimestampDesc(
+                                admin, partner, partner, admin)),
+                new HotQuery("ChatMessageRepository.findReceivers", false,
+                        () -> chatMessageRepository.findReceivers(admin)),
+                new HotQuery("ChatMessageRepository.findSenders", false,
+                        () -> chatMessageRepository.findSenders(admin)),
+                new HotQuery("ChatMessageRepository.findConversationHeads", true,
+                        () -> chatMessageRepository.findConversationHeads(admin)),
+                new HotQuery("ChatMessageRepository.findRecentChats", true,
+                        () -> chatMessageRepository.findRecentChats(admin, List.of(partner), List.of(LocalDateTime.now()))),
+                new HotQuery("ChatMessageRepository.findIdsByUserId", true,
+                        () -> chatMessageRepository.findIdsByUserId(admin, PageRequest.of(0, 1000))),
+                new HotQuery("SessionRepository.findUserIdByTokenHash", false,
+                        () -> sessionRepository.findUserIdByTokenHash(tokenHash(owner, 2))),
+                new HotQuery("SessionRepository.deleteAllButMostRecent", false,
+                        () -> sessionRepository.deleteAllButMostRecent(owner, 1)),
+                new HotQuery("OtpVerificationRepository.findForUpdateByEmailAndPurpose", false,
+                        () -> otpVerificationRepository.findForUpdateByEmailAndPurpose(email, OtpPurpose.PASSWORD_RESET)),
+                new HotQuery("OtpVerificationRepository.deleteExpiredBefore", false,
+                        () -> otpVerificationRepository.deleteExpiredBefore(LocalDateTime.now().minusDays(1))),
+                new HotQuery("UserRepository.findByEmail", false,
+                        () -> userRepository.findByEmail(email)),
+                new HotQuery("ProfileRepository.findByUser", false,
+                        () -> profileRepository.findByUser(userRepository.getReferenceById(owner))),
+                new HotQuery("UserDocumentRepository.findByUserId", false,
+                        () -> userDocumentRepository.findByUserId(owner)),
+                new HotQuery("RoomReviewRepository.existsByRoomIdAndUserId", false,
+                        () -> roomReviewRepository.existsByRoomIdAndUserId(roomId, admin)),
+                new HotQuery("RoomReviewRepository.findPageByRecency", false,
+                        () -> roomReviewRepository.findPageByRecency(roomId, PageRequest.of(0, 21))),
+                new HotQuery("RoomReviewRepository.findPageByRating", false,
+                        () -> roomReviewRepository.findPageByRating(roomId, PageRequest.of(0, 21))),
+                new HotQuery("RoomReviewRepository.countRatingsByRoomIds", false,
+                        () -> roomReviewRepository.countRatingsByRoomIds(List.of(roomId, otherRoomId))),
+                new HotQuery("RoomReviewRepository.findReviewedLocationsByUserId", false,
+                        () -> roomReviewRepository.findReviewedLocationsByUserId(admin)),
+                new HotQuery("RoomRepository.findByIdAndUserId", false,
+                        () -> roomRepository.findByIdAndUserId(roomId, owner)),
+                new HotQuery("RoomRepository.findLocationsByUserId", false,
+                        () -> roomRepository.findLocationsByUserId(owner)),
+                new HotQuery("RoomRepository.findIdsInCellsByDistance", false,
+                        () -> roomRepository.findIdsInCellsByDistance(List.of(cell),
+                                PerfDataSeeder.CENTER_LAT - 0.3, PerfDataSeeder.CENTER_LAT + 0.3,
+                                PerfDataSeeder.CENTER_LNG - 0.3, PerfDataSeeder.CENTER_LNG + 0.3,
+                                PerfDataSeeder.CENTER_LAT, PerfDataSeeder.CENTER_LNG, 0.95, PageRequest.of(0, 50))),
+                new HotQuery("RoomRepository.findAll(Specification) for /api/room/filter", false,
+                        () -> roomRepository.findAll(RoomSpecifications.matching(filter),
+                                PageRequest.of(0, 20, Sort.by("price")))),
+                new HotQuery("RoomRepository.findSearchRowsAfter", false,
+                        () -> roomRepository.findSearchRowsAfter(roomId, PageRequest.of(0, 500))),
+                new HotQuery("RankingOutboxEventRepository.findClaimable", false,
+                        () -> rankingOutboxEventRepository.findClaimable(5, LocalDateTime.now(), PageRequest.of(0, 100))),
+                new HotQuery("RankingOutboxEventRepository.findByClaimToken", false,
+                        () -> rankingOutboxEventRepository.findByClaimToken(UUID.randomUUID().toString()))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void isServedByAnIndex(HotQuery query) {
+        assumeFalse(h2 && query.indexMerge(), "H2 cannot merge indexes for OR across columns");
+        // Run the real repository call and explain exactly what Hibernate sent; roll back its writes
+        List<CapturedStatement> statements = StatementCapture.during(() -> transactionTemplate.executeWithoutResult(status -> {
+            query.call().run();
+            status.setRollbackOnly();
+        }));
+        assertFalse(statements.isEmpty(), query.method() + " sent no SQL");
+
+        for (CapturedStatement statement : statements) {
+            Object[] params = statement.params().toArray();
+            if (h2) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + statement.sql(), String.class, params);
+                assertFalse(plan.contains(".tableScan"), query.method() + " scans a table:\n" + plan);
+            } else {
+                for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), params)) {
+                    assertNotEquals("ALL", row.get("type"), query.method() + " scans " + row.get("table")
+                            + ":\n" + statement.sql());
+                }
+            }
+        }
+    }
+
+    record CapturedStatement(String sql, List<Object> params) {
+    }
+
+    /**
+     * Wraps the application DataSource so statements can be recorded, with their bound parameters,
+     * exactly as Hibernate prepares them. Recording is per thread, so scheduled jobs running
+     * meanwhile are not picked up.
+     */
+    @TestConfiguration
+    static class StatementCapture {
+
+        private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+        static List<CapturedStatement> during(Runnable work) {
+            List<CapturedStatement> statements = new ArrayList<>();
+            CAPTURED.set(statements);
+            try {
+                work.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            return statements;
+        }
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                            ? proxy(DataSource.class, dataSource, StatementCapture::wrapConnection)
+                            : bean;
+                }
+            };
+        }
+
+        private static Object wrapConnection(Method method, Object result, Object[] args) {
+            return result instanceof Connection connection
+                    ? proxy(Connection.class, connection, StatementCapture::wrapStatement)
+                    : result;
+        }
+
+        private static Object wrapStatement(Method method, Object result, Object[] args) {
+            if (!(result instanceof PreparedStatement statement) || !method.getName().equals("prepareStatement")) {
+                return result;
+            }
+            String sql = (String) args[0];
+            Map<Integer, Object> params = new TreeMap<>();
+            return Proxy.newProxyInstance(StatementCapture.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (self, call, callArgs) -> {
+                        String name = call.getName();
+                        if (name.startsWith("set") && callArgs != null && callArgs.length >= 2
+                                && callArgs[0] instanceof Integer index) {
+                            params.put(index, name.equals("setNull") ? null : callArgs[1]);
+                        } else if (name.equals("clearParameters")) {
+                            params.clear();
+                        } else if (name.startsWith("execute") && CAPTURED.get() != null) {
+                            CAPTURED.get().add(new CapturedStatement(sql, new ArrayList<>(params.values())));
+                        }
+                        return invoke(call, statement, callArgs);
+                    });
+        }
+
+        private interface ResultWrapper {
+            Object wrap(Method method, Object result, Object[] args);
+        }
+
+        private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+            return type.cast(Proxy.newProxyInstance(StatementCapture.class.getClassLoader(), new Class<?>[]{type},
+                    (self, method, args) -> wrapper.wrap(method, invoke(method, target, args), args)));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.dto.JobStatusDto;
+import roomy.dto.room.RoomReviewRequestDto;
+import roomy.entities.ChatMessage;
+import roomy.entities.Room;
+import roomy.entities.User;
+import roomy.entities.UserDocument;
+import roomy.repositories.ChatMessageRepository;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.RoomReviewRepository;
+import roomy.repositories.UserDocumentRepository;
+import roomy.repositories.UserRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AdminServiceTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private BackgroundJobService backgroundJobService;
+
+    @Autowired
+    private RoomReviewService reviewService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomReviewRepository reviewRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private UserDocumentRepository documentRepository;
+
+    @Value("${room.image.upload-dir}")
+    private String roomImageDir;
+
+    @Value("${document.upload-dir}")
+    private String documentDir;
+
+    @Test
+    void deletionJobPurgesTheUserAndTheirUploads() throws Exception {
+        User user = TestUsers.save(userRepository);
+        User other = TestUsers.save(userRepository);
+        Path image = upload(roomImageDir, "jpg");
+        Path document = upload(documentDir, "pdf");
+        Room room = saveRoom(user, "/uploads/rooms/" + image.getFileName());
+        Room otherRoom = saveRoom(other, null);
+        review(room, other);
+        review(otherRoom, user);
+        chatMessageRepository.save(message(user, other));
+        chatMessageRepository.save(message(other, user));
+        UserDocument userDocument = new UserDocument();
+        userDocument.setUser(user);
+        userDocument.setDocumentName("id.pdf");
+        userDocument.setDocumentPath("/uploads/documents/" + document.getFileName());
+        documentRepository.save(userDocument);
+
+        JobStatusDto job = await(adminService.startUserDeletionJob(user.getId()));
+
+        assertEquals(JobStatusDto.State.COMPLETED, job.getState(), job.getError());
+        // 2 messages, 2 reviews, 1 image, 1 room, 1 document, 1 role and the user
+        assertEquals(9, job.getProcessed());
+        assertFalse(userRepository.existsById(user.getId()));
+        assertFalse(roomRepository.existsById(room.getId()));
+        assertTrue(reviewRepository.findByRoomId(otherRoom.getId()).isEmpty());
+        assertFalse(Files.exists(image));
+        assertFalse(Files.exists(document));
+        assertTrue(userRepository.existsById(other.getId()));
+        assertTrue(roomRepository.existsById(otherRoom.getId()));
+    }
+
+    @Test
+    void deletionLeavesFilesOutsideTheUploadDirectoriesAlone() throws Exception {
+        User user = TestUsers.save(userRepository);
+        Path outside = Files.createTempFile("not-an-upload-", ".jpg");
+        try {
+            saveRoom(user, "/uploads/rooms/../../" + outside.getFileName());
+
+            JobStatusDto job = await(adminService.startUserDeletionJob(user.getId()));
+
+            assertEquals(JobStatusDto.State.COMPLETED, job.getState(), job.getError());
+            assertTrue(Files.exists(outside));
+        } finally {
+            Files.deleteIfExists(outside);
+        }
+    }
+
+    private JobStatusDto await(JobStatusDto started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        JobStatusDto job = backgroundJobService.getJob(started.getId());
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return job;
+    }
+
+    private static Path upload(String dir, String extension) throws IOException {
+        Path root = Paths.get(dir).toAbsolutePath();
+        Files.createDirectories(root);
+        return Files.writeString(root.resolve(UUID.randomUUID() + "." + extension), "content");
+    }
+
+    private Room saveRoom(User owner, String imageUrl) {
+        Room room = new Room();
+        room.setTitle("Room to purge");
+        room.setPrice(8000.0);
+        room.setLocation("Koramangala");
+        room.setUser(owner);
+        if (imageUrl != null) {
+            room.getImageUrls().add(imageUrl);
+        }
+        return roomRepository.save(room);
+    }
+
+    private void review(Room room, User reviewer) {
+        RoomReviewRequestDto request = new RoomReviewRequestDto();
+        request.setRoomId(room.getId());
+        request.setRating(4);
+        request.setReviewComment("Fine");
+        reviewService.addReview(request, reviewer);
+    }
+
+    private static ChatMessage message(User sender, User receiver) {
+        return ChatMessage.builder()
+                .sender(sender)
+                .receiver(receiver)
+                .content("Hello")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
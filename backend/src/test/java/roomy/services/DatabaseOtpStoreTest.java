@@ -0,0 +1,58 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.entities.enums.OtpPurpose;
+import roomy.repositories.OtpVerificationRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(properties = "otp.store=database")
+class DatabaseOtpStoreTest {
+
+    @Autowired
+    private OtpService otpService;
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private OtpVerificationRepository otpRepo;
+
+    @Test
+    void codesAreSharedThroughTheDatabase() {
+        assertInstanceOf(DatabaseOtpStore.class, otpStore);
+        String email = "otp-" + UUID.randomUUID() + "@roomy.test";
+
+        String first = otpService.issue(OtpPurpose.PASSWORD_RESET, email);
+        String second = otpService.issue(OtpPurpose.PASSWORD_RESET, email.toUpperCase());
+
+        // Re-issuing replaces the row rather than adding one, whatever the email casing
+        assertEquals(1, otpRepo.findAll().stream().filter(record -> record.getEmail().equals(email)).count());
+        if (!first.equals(second)) {
+            assertEquals(OtpStore.Result.INVALID, otpService.verify(OtpPurpose.PASSWORD_RESET, email, first));
+        }
+        assertEquals(OtpStore.Result.VERIFIED, otpService.verify(OtpPurpose.PASSWORD_RESET, email, second));
+        assertEquals(0, otpRepo.findAll().stream().filter(record -> record.getEmail().equals(email)).count());
+    }
+
+    @Test
+    void attemptsAreCountedAndExpiredRowsSwept() {
+        String email = "otp-" + UUID.randomUUID() + "@roomy.test";
+        otpStore.save(OtpPurpose.EMAIL_VERIFICATION, email, "123456", LocalDateTime.now().plusMinutes(5));
+
+        assertEquals(OtpStore.Result.INVALID, otpStore.verify(OtpPurpose.EMAIL_VERIFICATION, email, "000000", 2,
+                LocalDateTime.now()));
+        assertEquals(OtpStore.Result.TOO_MANY_ATTEMPTS, otpStore.verify(OtpPurpose.EMAIL_VERIFICATION, email, "000001", 2,
+                LocalDateTime.now()));
+
+        otpStore.save(OtpPurpose.EMAIL_VERIFICATION, email, "123456", LocalDateTime.now().minusMinutes(1));
+        otpService.purgeExpired();
+        assertEquals(0, otpRepo.findAll().stream().filter(record -> record.getEmail().equals(email)).count());
+    }
+}
@@ -0,0 +1,58 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import roomy.entities.enums.OtpPurpose;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryOtpStoreTest {
+
+    private static final String EMAIL = "otp@roomy.test";
+
+    private final InMemoryOtpStore store = new InMemoryOtpStore();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void aVerifiedCodeCannotBeReused() {
+        store.save(OtpPurpose.EMAIL_VERIFICATION, EMAIL, "123456", now.plusMinutes(5));
+
+        assertEquals(OtpStore.Result.VERIFIED, verify(OtpPurpose.EMAIL_VERIFICATION, "123456"));
+        assertEquals(OtpStore.Result.INVALID, verify(OtpPurpose.EMAIL_VERIFICATION, "123456"));
+    }
+
+    @Test
+    void purposesDoNotShareCodes() {
+        store.save(OtpPurpose.EMAIL_VERIFICATION, EMAIL, "111111", now.plusMinutes(5));
+        store.save(OtpPurpose.PASSWORD_RESET, EMAIL, "222222", now.plusMinutes(5));
+
+        assertEquals(OtpStore.Result.INVALID, verify(OtpPurpose.PASSWORD_RESET, "111111"));
+        assertEquals(OtpStore.Result.VERIFIED, verify(OtpPurpose.PASSWORD_RESET, "222222"));
+    }
+
+    @Test
+    void wrongGuessesExhaustTheCode() {
+        store.save(OtpPurpose.PASSWORD_RESET, EMAIL, "123456", now.plusMinutes(5));
+
+        assertEquals(OtpStore.Result.INVALID, verify(OtpPurpose.PASSWORD_RESET, "000000"));
+        assertEquals(OtpStore.Result.INVALID, verify(OtpPurpose.PASSWORD_RESET, "000001"));
+        assertEquals(OtpStore.Result.TOO_MANY_ATTEMPTS, verify(OtpPurpose.PASSWORD_RESET, "000002"));
+        // The right code no longer works once the attempts are used up
+        assertEquals(OtpStore.Result.INVALID, verify(OtpPurpose.PASSWORD_RESET, "123456"));
+    }
+
+    @Test
+    void expiredCodesAreRejectedAndSwept() {
+        store.save(OtpPurpose.EMAIL_VERIFICATION, EMAIL, "123456", now.minusSeconds(1));
+        store.save(OtpPurpose.PASSWORD_RESET, EMAIL, "654321", now.minusSeconds(1));
+
+        assertEquals(OtpStore.Result.EXPIRED, verify(OtpPurpose.EMAIL_VERIFICATION, "123456"));
+        assertEquals(1, store.purgeExpired(now));
+        assertEquals(OtpStore.Result.INVALID, verify(OtpPurpose.PASSWORD_RESET, "654321"));
+    }
+
+    private OtpStore.Result verify(OtpPurpose purpose, String candidate) {
+        return store.verify(purpose, EMAIL, candidate, 3, now);
+    }
+}
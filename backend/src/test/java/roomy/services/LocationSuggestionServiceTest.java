@@ -0,0 +1,82 @@
+package roomy.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import roomy.dto.room.LocationSuggestionDto;
+import roomy.events.RoomChangedEvent;
+import roomy.repositories.RoomRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocationSuggestionServiceTest {
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final LocationSuggestionService service = new LocationSuggestionService(roomRepository);
+
+    @BeforeEach
+    void load() {
+        when(roomRepository.countByLocation()).thenReturn(List.of(
+                row("Koramangala", 12),
+                row("koramangala ", 3),
+                row("5th Block, Koramangala", 4),
+                row("Kormangala", 1),
+                row("HSR Layout", 9)));
+        service.refresh();
+    }
+
+    @Test
+    void matchesAnyWordStartAndRanksByRoomCount() {
+        assertEquals(List.of(
+                        new LocationSuggestionDto("Koramangala", 15),
+                        new LocationSuggestionDto("5th Block, Koramangala", 4)),
+                service.suggest("Kora", 10));
+        assertEquals(List.of(new LocationSuggestionDto("5th Block, Koramangala", 4)), service.suggest("bloc", 10));
+        assertEquals(List.of(new LocationSuggestionDto("HSR Layout", 9)), service.suggest("  hsr  lay", 10));
+        assertTrue(service.suggest("ayout", 10).isEmpty());
+    }
+
+    @Test
+    void refreshesOnlyAfterRoomsChange() {
+        service.refresh();
+        verify(roomRepository, times(1)).countByLocation();
+
+        service.markStale(RoomChangedEvent.forRoom(1L));
+        service.refresh();
+        verify(roomRepository, times(2)).countByLocation();
+    }
+
+    @Test
+    void retriesAFailedRefresh() {
+        service.markStale(RoomChangedEvent.forRoom(1L));
+        when(roomRepository.countByLocation())
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of(row("Whitefield", 2)));
+
+        assertThrows(IllegalStateException.class, service::refresh);
+        service.refresh();
+
+        assertEquals(List.of(new LocationSuggestionDto("Whitefield", 2)), service.suggest("white", 10));
+    }
+
+    private static RoomRepository.LocationCount row(String location, long count) {
+        return new RoomRepository.LocationCount() {
+            @Override
+            public String getLocation() {
+                return location;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package roomy.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import roomy.dto.LoginDto;
+import roomy.entities.User;
+import roomy.entities.enums.Role;
+import roomy.exceptions.TooManyRequestsException;
+import roomy.repositories.UserRepository;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class PasswordHashingTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void loginRehashesPasswordsMadeWithALowerStrength() {
+        User user = new User();
+        user.setEmail("rehash-" + UUID.randomUUID() + "@roomy.test");
+        user.setName("Rehash");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret-password"));
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        user = userRepository.save(user);
+
+        LoginDto login = new LoginDto();
+        login.setEmail(user.getEmail());
+        login.setPassword("secret-password");
+        authService.login(login);
+
+        String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$10$"), stored);
+        assertTrue(new BCryptPasswordEncoder().matches("secret-password", stored));
+    }
+
+    @Test
+    void rejectsImmediatelyWhenThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(10),
+                new SimpleMeterRegistry());
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            // Give the second task time to take the only queue slot
+            Thread.sleep(100);
+
+            assertThrows(TooManyRequestsException.class, () -> encoder.encode("c"));
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+}
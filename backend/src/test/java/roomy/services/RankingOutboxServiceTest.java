@@ -0,0 +1,142 @@
+package roomy.services;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import roomy.entities.RankingOutboxEvent;
+import roomy.repositories.RankingOutboxEventRepository;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the dispatcher against a local stub of the ranking service's /invalidate-cache endpoint.
+ */
+@SpringBootTest(properties = "ranking.invalidation.mode=http")
+class RankingOutboxServiceTest {
+
+    private static final HttpServer STUB = startStub();
+    private static final List<String> INVALIDATED = new CopyOnWriteArrayList<>();
+    private static volatile CountDownLatch slowCallArrived = new CountDownLatch(1);
+    private static volatile CountDownLatch releaseSlowCall = new CountDownLatch(0);
+
+    @Autowired
+    private RankingOutboxService outboxService;
+
+    @Autowired
+    private RankingOutboxEventRepository outboxRepository;
+
+    @DynamicPropertySource
+    static void rankingService(DynamicPropertyRegistry registry) {
+        registry.add("ranking.base-url", () -> "http://localhost:" + STUB.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+    }
+
+    @BeforeEach
+    void reset() {
+        outboxRepository.deleteAll();
+        INVALIDATED.clear();
+    }
+
+    @Test
+    void collapsesLocalitiesAndRecordsFailures() {
+        List<RankingOutboxEvent> koramangala = outboxRepository.saveAll(List.of(event("koramangala"), event("koramangala")));
+        RankingOutboxEvent broken = outboxRepository.save(event("broken"));
+
+        outboxService.dispatchPending();
+
+        assertEquals(List.of("koramangala", "broken"), INVALIDATED);
+        koramangala.forEach(event -> assertNotNull(reload(event).getDispatchedAt()));
+        RankingOutboxEvent failed = reload(broken);
+        assertNull(failed.getDispatchedAt());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertNull(failed.getClaimToken());
+
+        // Retried on the next run
+        outboxService.dispatchPending();
+        assertEquals(List.of("koramangala", "broken", "broken"), INVALIDATED);
+        assertEquals(2, reload(broken).getAttempts());
+    }
+
+    @Test
+    void rowsInFlightAreClaimedOutsideATransaction() throws Exception {
+        RankingOutboxEvent slow = outboxRepository.save(event("slow"));
+        slowCallArrived = new CountDownLatch(1);
+        releaseSlowCall = new CountDownLatch(1);
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(outboxService::dispatchPending);
+            assertTrue(slowCallArrived.await(10, TimeUnit.SECONDS));
+
+            // The claim is committed before the call, so it is visible here and a second run skips the row
+            assertNotNull(reload(slow).getClaimToken());
+            outboxService.dispatchPending();
+            assertEquals(List.of("slow"), INVALIDATED);
+
+            releaseSlowCall.countDown();
+            first.get(10, TimeUnit.SECONDS);
+        } finally {
+            releaseSlowCall.countDown();
+        }
+        RankingOutboxEvent dispatched = reload(slow);
+        assertNotNull(dispatched.getDispatchedAt());
+        assertNull(dispatched.getClaimToken());
+    }
+
+    private RankingOutboxEvent reload(RankingOutboxEvent event) {
+        return outboxRepository.findById(event.getId()).orElseThrow();
+    }
+
+    private static RankingOutboxEvent event(String locality) {
+        return RankingOutboxEvent.builder().locality(locality).build();
+    }
+
+    // "broken" answers 500; "slow" waits until the test releases it
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/invalidate-cache", exchange -> {
+                String locality = URLDecoder.decode(exchange.getRequestURI().getQuery().substring("location=".length()),
+                        StandardCharsets.UTF_8);
+                INVALIDATED.add(locality);
+                if (locality.equals("slow")) {
+                    slowCallArrived.countDown();
+                    try {
+                        releaseSlowCall.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                exchange.sendResponseHeaders(locality.equals("broken") ? 500 : 200, -1);
+                exchange.close();
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the ranking service stub", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.dto.room.RoomDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.dto.room.RoomFilterPageDto;
+import roomy.dto.room.RoomSort;
+import roomy.dto.room.RoomSummaryDto;
+import roomy.entities.User;
+import roomy.repositories.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class RoomFilterTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void filtersSortsAndCountsFacetsWithoutTheirOwnSelection() {
+        String location = "Facet-" + UUID.randomUUID();
+        User owner = TestUsers.save(userRepository);
+        createRoom(owner, location, "a", 6000, "PRIVATE", true, "ANY");
+        createRoom(owner, location, "b", 9000, "PRIVATE", false, "FEMALE");
+        createRoom(owner, location, "c", 12000, "SHARED", true, "ANY");
+        createRoom(owner, location, "d", 16000, "SHARED", true, "MALE");
+
+        RoomFilterDto filter = new RoomFilterDto();
+        filter.setLocation(location);
+        filter.setRoomType(List.of("shared"));
+        filter.setFurnished(true);
+        filter.setSort(RoomSort.PRICE_DESC);
+
+        RoomFilterPageDto page = roomService.filterRooms(filter);
+
+        assertEquals(2, page.getTotal());
+        assertEquals(List.of("d", "c"), page.getItems().stream().map(RoomSummaryDto::getTitle).toList());
+        // Room type counts ignore the room type selection but keep furnished=true
+        assertEquals(Map.of("PRIVATE", 1L, "SHARED", 2L), page.getFacets().get("roomType"));
+        assertEquals(Map.of("true", 2L), page.getFacets().get("furnished"));
+        assertEquals(Map.of("ANY", 1L, "MALE", 1L), page.getFacets().get("genderPreference"));
+        assertEquals(Map.of("10000", 1L, "15000", 1L), page.getFacets().get("price"));
+    }
+
+    @Test
+    void pagesAreStableAcrossEqualSortKeys() {
+        String location = "Paging-" + UUID.randomUUID();
+        User owner = TestUsers.save(userRepository);
+        for (int i = 0; i < 5; i++) {
+            createRoom(owner, location, "room-" + i, 10000, "PRIVATE", false, "ANY");
+        }
+
+        RoomFilterDto filter = new RoomFilterDto();
+        filter.setLocation(location);
+        filter.setSort(RoomSort.PRICE_ASC);
+        filter.setSize(2);
+        filter.setPage(2);
+
+        RoomFilterPageDto last = roomService.filterRooms(filter);
+
+        assertEquals(5, last.getTotal());
+        assertEquals(List.of("room-0"), last.getItems().stream().map(RoomSummaryDto::getTitle).toList());
+    }
+
+    private void createRoom(User owner, String location, String title, double price, String type,
+                            boolean furnished, String gender) {
+        RoomDto room = new RoomDto();
+        room.setTitle(title);
+        room.setPrice(price);
+        room.setLocation(location);
+        room.setRoomType(type);
+        room.setFurnished(furnished);
+        room.setGenderPreference(gender);
+        room.setMaxOccupancy(2);
+        room.setAvailable(true);
+        roomService.createRoom(room, owner);
+    }
+}
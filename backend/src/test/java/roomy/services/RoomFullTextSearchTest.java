@@ -0,0 +1,70 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.dto.room.RoomDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.dto.room.RoomSummaryDto;
+import roomy.entities.User;
+import roomy.repositories.UserRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class RoomFullTextSearchTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void findsRoomsDespiteTyposAndRanksLocationMatchesFirst() {
+        User owner = TestUsers.save(userRepository);
+        RoomDto inLocation = createRoom(owner, "Quiet studio", "Close to the metro", "Koramangala 5th Block", 14000);
+        RoomDto inDescription = createRoom(owner, "Bright room", "Ten minutes from Koramangala", "HSR Layout", 11000);
+
+        List<Long> ids = search("Koramangla", new RoomFilterDto());
+
+        assertTrue(ids.contains(inDescription.getId()));
+        assertTrue(ids.indexOf(inLocation.getId()) >= 0 && ids.indexOf(inLocation.getId()) < ids.indexOf(inDescription.getId()));
+    }
+
+    @Test
+    void appliesFiltersAndFollowsUpdatesAndDeletes() {
+        User owner = TestUsers.save(userRepository);
+        RoomDto cheap = createRoom(owner, "Sunlit attic", "Wooden floors", "Jayanagar", 7000);
+        RoomDto pricey = createRoom(owner, "Sunlit penthouse", "Terrace", "Jayanagar", 30000);
+
+        RoomFilterDto underTenK = new RoomFilterDto();
+        underTenK.setMaxPrice(10000.0);
+        assertEquals(List.of(cheap.getId()), search("sunlit jayanagar", underTenK));
+
+        pricey.setTitle("Renovated penthouse");
+        roomService.updateRoom(pricey.getId(), pricey, owner);
+        assertEquals(List.of(cheap.getId()), search("sunlit jayanagar", new RoomFilterDto()));
+
+        roomService.deleteRoom(cheap.getId(), owner.getId());
+        assertTrue(search("sunlit jayanagar", new RoomFilterDto()).isEmpty());
+    }
+
+    private List<Long> search(String text, RoomFilterDto filter) {
+        return roomService.searchRoomsFullText(text, filter, 10).stream().map(RoomSummaryDto::getId).toList();
+    }
+
+    private RoomDto createRoom(User owner, String title, String description, String location, double price) {
+        RoomDto room = new RoomDto();
+        room.setTitle(title);
+        room.setDescription(description);
+        room.setPrice(price);
+        room.setLocation(location + " " + UUID.randomUUID());
+        return roomService.createRoom(room, owner);
+    }
+}
@@ -0,0 +1,100 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.dto.room.NearbyRoomDto;
+import roomy.dto.room.RoomDto;
+import roomy.entities.User;
+import roomy.exceptions.BadRequestException;
+import roomy.repositories.UserRepository;
+import roomy.utils.GeoHash;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class RoomGeoSearchTest {
+
+    // Far from the other tests' rooms so only this test's rooms fall in range
+    private static final double LAT = -33.8688;
+    private static final double LNG = 151.2093;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void radiusSearchReturnsRoomsInRangeNearestFirst() {
+        User owner = TestUsers.save(userRepository);
+        // Roughly 2.2 km, 0.5 km, 1.1 km and 8.9 km north of the centre
+        createRoom(owner, "two", LAT + 0.02, LNG);
+        createRoom(owner, "half", LAT + 0.0045, LNG);
+        createRoom(owner, "one", LAT + 0.01, LNG);
+        createRoom(owner, "far", LAT + 0.08, LNG);
+
+        List<NearbyRoomDto> rooms = roomService.getRoomsNearby(LAT, LNG, 3, 10);
+
+        assertEquals(List.of("half", "one", "two"), rooms.stream().map(NearbyRoomDto::getTitle).toList());
+        assertTrue(rooms.get(0).getDistanceKm() < rooms.get(1).getDistanceKm());
+        assertEquals(0.5, rooms.get(0).getDistanceKm(), 0.01);
+    }
+
+    @Test
+    void boxSearchSortsByDistanceFromTheGivenPoint() {
+        User owner = TestUsers.save(userRepository);
+        double lat = LAT + 1;
+        createRoom(owner, "west", lat, LNG - 0.03);
+        createRoom(owner, "east", lat, LNG + 0.03);
+
+        List<NearbyRoomDto> rooms = roomService.getRoomsInBox(lat - 0.05, LNG - 0.05, lat + 0.05, LNG + 0.05,
+                lat, LNG + 0.04, 10);
+
+        assertEquals(List.of("east", "west"), rooms.stream().map(NearbyRoomDto::getTitle).toList());
+    }
+
+    @Test
+    void updateWithoutCoordinatesKeepsTheRoomOnTheMap() {
+        User owner = TestUsers.save(userRepository);
+        double lat = LAT - 1;
+        RoomDto room = createRoom(owner, "before", lat, LNG);
+
+        RoomDto update = new RoomDto();
+        update.setTitle("after");
+        update.setPrice(16000.0);
+        update.setLocation("Sydney");
+        roomService.updateRoom(room.getId(), update, owner);
+
+        List<NearbyRoomDto> rooms = roomService.getRoomsNearby(lat, LNG, 1, 10);
+        assertEquals(List.of("after"), rooms.stream().map(NearbyRoomDto::getTitle).toList());
+        assertEquals(lat, roomService.getRoomById(room.getId()).getLatitude());
+    }
+
+    @Test
+    void rejectsAreasBeyondTheConfiguredLimits() {
+        assertThrows(BadRequestException.class, () -> roomService.getRoomsNearby(LAT, LNG, 500, 10));
+        assertThrows(BadRequestException.class, () -> roomService.getRoomsInBox(-80, -170, 80, 170, null, null, 10));
+        assertThrows(BadRequestException.class, () -> roomService.getRoomsNearby(91, LNG, 3, 10));
+    }
+
+    @Test
+    void encodesKnownGeohash() {
+        assertEquals("u4pru", GeoHash.encode(57.64911, 10.40744));
+    }
+
+    private RoomDto createRoom(User owner, String title, double latitude, double longitude) {
+        RoomDto room = new RoomDto();
+        room.setTitle(title);
+        room.setPrice(15000.0);
+        room.setLocation("Sydney");
+        room.setLatitude(latitude);
+        room.setLongitude(longitude);
+        return roomService.createRoom(room, owner);
+    }
+}
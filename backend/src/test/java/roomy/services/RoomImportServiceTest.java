@@ -0,0 +1,157 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.dto.JobStatusDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.entities.Room;
+import roomy.entities.User;
+import roomy.exceptions.ResourceNotFoundException;
+import roomy.exceptions.TooManyRequestsException;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "room-import.batch-size=2")
+class RoomImportServiceTest {
+
+    @Autowired
+    private RoomImportService roomImportService;
+
+    @Autowired
+    private BackgroundJobService backgroundJobService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomSearchIndex roomSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws Exception {
+        User owner = TestUsers.save(userRepository);
+        String csv = """
+                title,price,location,furnished,imageUrls
+                Corner room,9000,Indiranagar,true,/uploads/a.jpg;/uploads/b.jpg
+                No price,,Indiranagar,false,
+                Shared flat,6500,HSR Layout,false,
+                ,7000,Whitefield,true,
+                Attic,abc,Whitefield,true,
+                Studio,15000,Koramangala,true,
+                """;
+
+        JobStatusDto job = await(roomImportService.startImport(stream(csv), RoomImportService.Format.CSV, owner), owner);
+
+        assertEquals(JobStatusDto.State.COMPLETED, job.getState());
+        assertEquals(6, job.getProcessed());
+        List<Room> rooms = roomRepository.findByUser(owner);
+        assertEquals(Set.of("Corner room", "Shared flat", "Studio"),
+                Set.copyOf(rooms.stream().map(Room::getTitle).toList()));
+        assertEquals(3, job.getMessages().size());
+        assertTrue(job.getMessages().contains("Row 3: price: Price is required"));
+        assertTrue(job.getMessages().contains("Row 5: title: Title is required"));
+        assertTrue(job.getMessages().stream().anyMatch(message -> message.startsWith("Row 6: ")));
+        // Each committed batch is indexed as it lands, without a full rebuild
+        for (Room room : rooms) {
+            assertTrue(roomSearchIndex.search(room.getTitle(), new RoomFilterDto(), 50).contains(room.getId()));
+        }
+    }
+
+    @Test
+    void importsNdjsonAndHidesTheJobFromOtherUsers() throws Exception {
+        User owner = TestUsers.save(userRepository);
+        String ndjson = """
+                {"title":"Garden room","price":8000,"location":"Jayanagar","latitude":12.93,"longitude":77.58}
+                {"title":"Broken",
+                {"title":"Far away","price":5000,"location":"Nowhere","latitude":120}
+
+                {"title":"Loft","price":12000,"location":"Jayanagar","isAvailable":true}
+                """;
+
+        JobStatusDto job = await(roomImportService.startImport(stream(ndjson), RoomImportService.Format.NDJSON, owner), owner);
+
+        assertEquals(JobStatusDto.State.COMPLETED, job.getState());
+        assertEquals(2, roomRepository.findByUser(owner).size());
+        assertEquals(List.of("Row 2: malformed JSON", "Row 3: latitude: Latitude must be between -90 and 90"),
+                job.getMessages());
+        assertThrows(ResourceNotFoundException.class, () -> backgroundJobService.getJob(job.getId(), TestUsers.save(userRepository).getId()));
+    }
+
+    @Test
+    void rejectedImportRemovesItsSpooledFile() throws Exception {
+        User owner = TestUsers.save(userRepository);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch workersBlocked = new CountDownLatch(2);
+        try {
+            // Pin both workers first so no earlier job can free a slot, then fill the queue
+            for (int i = 0; i < 2; i++) {
+                backgroundJobService.submit("BLOCKER", job -> {
+                    workersBlocked.countDown();
+                    awaitQuietly(release);
+                });
+            }
+            assertTrue(workersBlocked.await(10, TimeUnit.SECONDS));
+            assertThrows(TooManyRequestsException.class, () -> {
+                for (int i = 0; i < 1_000; i++) {
+                    backgroundJobService.submit("BLOCKER", job -> awaitQuietly(release));
+                }
+            });
+            Set<Path> spooledBefore = spooledFiles();
+
+            assertThrows(TooManyRequestsException.class, () -> roomImportService.startImport(
+                    stream("title,price\nLoft,9000\n"), RoomImportService.Format.CSV, owner));
+
+            assertEquals(spooledBefore, spooledFiles());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static Set<Path> spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("room-import-"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JobStatusDto await(JobStatusDto started, User owner) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        JobStatusDto job = backgroundJobService.getJob(started.getId(), owner.getId());
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return job;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.dto.room.RoomDto;
+import roomy.dto.room.RoomWithReviewsDto;
+import roomy.entities.User;
+import roomy.repositories.UserRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class RoomResponseCacheTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void searchesShareOneEntryPerNormalizedLocation() {
+        String location = "Indiranagar-" + UUID.randomUUID();
+        createRoom(TestUsers.save(userRepository), location);
+
+        List<RoomWithReviewsDto> first = roomService.getRoomsByLocation("  " + location.toUpperCase() + " ");
+        List<RoomWithReviewsDto> second = roomService.getRoomsByLocation(location);
+
+        assertSame(first, second);
+        assertEquals(1, second.size());
+        assertSame(roomService.getRoomsByQuery(" " + location.toUpperCase()),
+                roomService.getRoomsByQuery(location.toLowerCase()));
+        assertEquals(1, roomService.getRoomsByQuery(location.toUpperCase()).size());
+    }
+
+    @Test
+    void cachedListsCannotBeModifiedByCallers() {
+        String location = "Jayanagar-" + UUID.randomUUID();
+        createRoom(TestUsers.save(userRepository), location);
+
+        List<RoomWithReviewsDto> rooms = roomService.getRoomsByLocation(location);
+
+        assertThrows(UnsupportedOperationException.class, rooms::clear);
+        assertThrows(UnsupportedOperationException.class, () -> rooms.get(0).getReviews().add(null));
+        assertThrows(UnsupportedOperationException.class,
+                () -> roomService.getRoomSummariesByLocation(location).clear());
+        assertThrows(UnsupportedOperationException.class, () -> roomService.getAllRooms().clear());
+        assertEquals(1, roomService.getRoomsByLocation(location).size());
+    }
+
+    @Test
+    void updatingARoomEvictsItsCachedResponses() {
+        String location = "Whitefield-" + UUID.randomUUID();
+        User owner = TestUsers.save(userRepository);
+        RoomDto room = createRoom(owner, location);
+
+        assertEquals("Cosy room", roomService.getRoomById(room.getId()).getTitle());
+        assertEquals("Cosy room", roomService.getRoomsByLocation(location).get(0).getTitle());
+
+        // A fresh DTO: the cached ones are shared and must not be modified
+        RoomDto update = newRoom(location);
+        update.setTitle("Renovated room");
+        roomService.updateRoom(room.getId(), update, owner);
+
+        assertEquals("Renovated room", roomService.getRoomById(room.getId()).getTitle());
+        assertEquals("Renovated room", roomService.getRoomsByLocation(location).get(0).getTitle());
+    }
+
+    private RoomDto createRoom(User owner, String location) {
+        return roomService.createRoom(newRoom(location), owner);
+    }
+
+    private static RoomDto newRoom(String location) {
+        RoomDto room = new RoomDto();
+        room.setTitle("Cosy room");
+        room.setPrice(15000.0);
+        room.setLocation(location);
+        room.setAvailable(true);
+        return room;
+    }
+}
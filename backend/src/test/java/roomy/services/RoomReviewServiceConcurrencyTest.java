@@ -0,0 +1,85 @@
+package roomy.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import roomy.TestUsers;
+import roomy.dto.room.RoomReviewRequestDto;
+import roomy.entities.Room;
+import roomy.entities.User;
+import roomy.exceptions.ResourceConflictException;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.RoomReviewRepository;
+import roomy.repositories.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class RoomReviewServiceConcurrencyTest {
+
+    private static final int SUBMISSIONS = 8;
+
+    @Autowired
+    private RoomReviewService reviewService;
+
+    @Autowired
+    private RoomReviewRepository reviewRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void parallelSubmissionsLeaveExactlyOneReview() throws Exception {
+        User owner = TestUsers.save(userRepository);
+        User reviewer = TestUsers.save(userRepository);
+
+        Room room = new Room();
+        room.setTitle("Sunny room");
+        room.setPrice(12000.0);
+        room.setLocation("Koramangala");
+        room.setUser(owner);
+        room = roomRepository.save(room);
+
+        RoomReviewRequestDto request = new RoomReviewRequestDto();
+        request.setRoomId(room.getId());
+        request.setRating(5);
+        request.setReviewComment("Great place");
+
+        ExecutorService pool = Executors.newFixedThreadPool(SUBMISSIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    reviewService.addReview(request, reviewer);
+                    return true;
+                } catch (ResourceConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                accepted++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, accepted);
+        assertEquals(1, reviewRepository.findByRoomId(room.getId()).size());
+    }
+}
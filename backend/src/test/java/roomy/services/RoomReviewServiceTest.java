@@ -0,0 +1,199 @@
+package roomy.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import roomy.TestUsers;
+import roomy.dto.room.ReviewPageDto;
+import roomy.dto.room.ReviewSort;
+import roomy.dto.room.ReviewStatsDto;
+import roomy.dto.room.RoomReviewDto;
+import roomy.dto.room.RoomReviewRequestDto;
+import roomy.entities.Room;
+import roomy.entities.User;
+import roomy.exceptions.BadRequestException;
+import roomy.exceptions.ResourceNotFoundException;
+import roomy.repositories.RoomRepository;
+import roomy.repositories.RoomReviewRepository;
+import roomy.repositories.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class RoomReviewServiceTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2025, 3, 1, 10, 0);
+    private static final LocalDateTime LATER = LocalDateTime.of(2025, 3, 2, 10, 0);
+
+    @Autowired
+    private RoomReviewService reviewService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    private Long roomId;
+    private final List<RoomReviewDto> reviews = new ArrayList<>();
+
+    // Two timestamps and three ratings across six reviews, so both sorts page through ties
+    @BeforeEach
+    void addReviews() {
+        Room room = new Room();
+        room.setTitle("Reviewed room");
+        room.setPrice(10000.0);
+        room.setLocation("Koramangala");
+        room.setUser(TestUsers.save(userRepository));
+        roomId = roomRepository.save(room).getId();
+
+        int[] ratings = {5, 3, 5, 1, 3, 5};
+        for (int i = 0; i < ratings.length; i++) {
+            RoomReviewRequestDto request = new RoomReviewRequestDto();
+            request.setRoomId(roomId);
+            request.setRating(ratings[i]);
+            request.setReviewComment("Review " + i);
+            RoomReviewDto review = reviewService.addReview(request, TestUsers.save(userRepository));
+            LocalDateTime createdAt = i % 2 == 0 ? EARLIER : LATER;
+            jdbcTemplate.update("UPDATE room_review SET created_at = ? WHERE id = ?", createdAt, review.getId());
+            review.setCreatedAt(createdAt);
+            reviews.add(review);
+        }
+    }
+
+    @Test
+    void recentPagesBreakTimestampTiesById() {
+        List<Long> expected = reviews.stream()
+                .sorted(Comparator.comparing(RoomReviewDto::getCreatedAt)
+                        .thenComparing(RoomReviewDto::getId).reversed())
+                .map(RoomReviewDto::getId)
+                .toList();
+
+        assertEquals(expected, readAllPages(ReviewSort.RECENT, 2, 3));
+        assertEquals(expected, readAllPages(ReviewSort.RECENT, 4, 2));
+    }
+
+    @Test
+    void ratingPagesBreakRatingTiesById() {
+        List<Long> expected = reviews.stream()
+                .sorted(Comparator.comparing(RoomReviewDto::getRating)
+                        .thenComparing(RoomReviewDto::getId).reversed())
+                .map(RoomReviewDto::getId)
+                .toList();
+
+        // Page size 3 ends exactly on the last of the three 5-star reviews
+        assertEquals(expected, readAllPages(ReviewSort.RATING, 3, 2));
+        assertEquals(expected, readAllPages(ReviewSort.RATING, 1, 6));
+    }
+
+    @Test
+    void fullLastPageHasNoCursor() {
+        ReviewPageDto page = reviewService.getReviewsForRoom(roomId, ReviewSort.RECENT, null, reviews.size());
+
+        assertEquals(reviews.size(), page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void statsFoldGroupedCountsPerRoom() {
+        Room empty = new Room();
+        empty.setTitle("Unreviewed room");
+        empty.setPrice(9000.0);
+        empty.setLocation("Koramangala");
+        empty.setUser(TestUsers.save(userRepository));
+        Long emptyRoomId = roomRepository.save(empty).getId();
+
+        List<RoomReviewRepository.RatingCount> rows = reviewRepository.countRatingsByRoomIds(List.of(roomId, emptyRoomId));
+        assertEquals(3, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getRoomId().equals(roomId)));
+
+        Map<Long, ReviewStatsDto> stats = reviewService.getReviewStats(List.of(roomId, emptyRoomId));
+        ReviewStatsDto reviewed = stats.get(roomId);
+        assertEquals(6, reviewed.getReviewCount());
+        assertEquals(22.0 / 6, reviewed.getAverageRating(), 1e-9);
+        assertEquals(Map.of(1, 1L, 2, 0L, 3, 2L, 4, 0L, 5, 3L), reviewed.getRatingHistogram());
+
+        ReviewStatsDto unreviewed = stats.get(emptyRoomId);
+        assertEquals(0, unreviewed.getReviewCount());
+        assertEquals(0.0, unreviewed.getAverageRating());
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 0L), unreviewed.getRatingHistogram());
+        assertEquals(unreviewed, reviewService.getReviewStats(emptyRoomId));
+        assertTrue(reviewService.getReviewStats(List.of()).isEmpty());
+    }
+
+    @Test
+    void rejectsTamperedAndMismatchedCursors() {
+        String recentCursor = reviewService.getReviewsForRoom(roomId, ReviewSort.RECENT, null, 2).getNextCursor();
+        assertNotNull(recentCursor);
+
+        assertThrows(BadRequestException.class,
+                () -> reviewService.getReviewsForRoom(roomId, ReviewSort.RATING, recentCursor, 2));
+        for (String cursor : List.of("not a cursor!", encode("RECENT|yesterday|7"), encode("RATING|5"),
+                encode("RATING|five|7"), encode("RATING|5|seven"))) {
+            assertThrows(BadRequestException.class,
+                    () -> reviewService.getReviewsForRoom(roomId, ReviewSort.RATING, cursor, 2), cursor);
+        }
+    }
+
+    @Test
+    void onlyTheRoomForeignKeyMeansRoomNotFound() {
+        User reviewer = TestUsers.save(userRepository);
+
+        assertThrows(ResourceNotFoundException.class, () -> reviewService.addReview(request(Long.MAX_VALUE, "Fine"), reviewer));
+        // Any other integrity error is not about the room; the DTO bound stops it at the controller
+        RoomReviewRequestDto tooLong = request(roomId, "x".repeat(300));
+        assertEquals(1, validator.validate(tooLong).size());
+        assertThrows(DataIntegrityViolationException.class, () -> reviewService.addReview(tooLong, reviewer));
+    }
+
+    private static RoomReviewRequestDto request(Long roomId, String comment) {
+        RoomReviewRequestDto request = new RoomReviewRequestDto();
+        request.setRoomId(roomId);
+        request.setRating(4);
+        request.setReviewComment(comment);
+        return request;
+    }
+
+    private List<Long> readAllPages(ReviewSort sort, int size, int expectedPages) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ReviewPageDto page = reviewService.getReviewsForRoom(roomId, sort, cursor, size);
+            page.getItems().forEach(review -> ids.add(review.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(expectedPages, pages);
+        return ids;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,74 @@
+package roomy.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import roomy.dto.room.RoomWithReviewsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoomSearchCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RoomSearchCoalescer coalescer = new RoomSearchCoalescer(registry);
+
+    @Test
+    void overlappingIdenticalSearchesRunOnce() throws Exception {
+        AtomicInteger searches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<RoomWithReviewsDto> rooms = List.of(new RoomWithReviewsDto());
+
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        List<Future<List<RoomWithReviewsDto>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(pool.submit(() -> coalescer.execute("location:pune", () -> {
+                searches.incrementAndGet();
+                await(release);
+                return rooms;
+            })));
+        }
+        // Let every caller reach the coalescer before the leader finishes
+        while (registry.get("room.search.requests").counters().stream().mapToDouble(c -> c.count()).sum() < CALLERS) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (Future<List<RoomWithReviewsDto>> result : results) {
+            assertSame(rooms, result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, searches.get());
+        assertEquals(CALLERS - 1, registry.get("room.search.requests").tag("role", "follower").counter().count());
+    }
+
+    @Test
+    void failedSearchesAreNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("query:x", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        List<RoomWithReviewsDto> rooms = List.of();
+        assertSame(rooms, coalescer.execute("query:x", () -> rooms));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
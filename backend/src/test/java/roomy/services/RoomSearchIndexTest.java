@@ -0,0 +1,155 @@
+package roomy.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import roomy.dto.JobStatusDto;
+import roomy.dto.room.RoomFilterDto;
+import roomy.events.RoomChangedEvent;
+import roomy.repositories.RoomRepository;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomSearchIndexTest {
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomSearchIndex index;
+
+    RoomSearchIndexTest() throws IOException {
+        index = new RoomSearchIndex(roomRepository, mock(BackgroundJobService.class), "");
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void failedRebuildKeepsThePreviousIndex() throws IOException {
+        rebuildWith(List.of(row(1L, "Corner room"), row(2L, "Garden room")));
+        assertEquals(Set.of(1L, 2L), Set.copyOf(index.search("room", new RoomFilterDto(), 10)));
+
+        // Fails after deleting everything and writing the first new document
+        when(roomRepository.findSearchRowsAfter(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(row(3L, "Attic room"), row(4L, null)));
+        assertThrows(IllegalStateException.class, () -> index.rebuild(new JobStatusDto()));
+
+        // A later commit and per-room refresh must not publish the half-built index
+        index.commit();
+        when(roomRepository.findSearchRowsByIdIn(List.of(5L))).thenReturn(List.of());
+        index.onRoomChanged(RoomChangedEvent.forRoom(5L));
+        assertEquals(Set.of(1L, 2L), Set.copyOf(index.search("room", new RoomFilterDto(), 10)));
+
+        // The reopened writer takes the next rebuild
+        rebuildWith(List.of(row(3L, "Attic room")));
+        assertEquals(List.of(3L), index.search("room", new RoomFilterDto(), 10));
+    }
+
+    @Test
+    void bulkChangeUpdatesOnlyTheListedRooms() {
+        rebuildWith(List.of(row(1L, "Corner room"), row(2L, "Garden room")));
+        clearInvocations(roomRepository);
+        when(roomRepository.findSearchRowsByIdIn(List.of(2L, 3L))).thenReturn(List.of(row(3L, "Attic room")));
+
+        index.onRoomChanged(RoomChangedEvent.forRooms(List.of(2L, 3L), List.of("Indiranagar")));
+
+        assertEquals(Set.of(1L, 3L), Set.copyOf(index.search("room", new RoomFilterDto(), 10)));
+        verify(roomRepository, never()).findSearchRowsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void failedUpdateDoesNotThrowAndIsRetriedOnCommit() throws IOException {
+        rebuildWith(List.of(row(1L, "Corner room")));
+        when(roomRepository.findSearchRowsByIdIn(List.of(2L)))
+                .thenThrow(new QueryTimeoutException("database unavailable"))
+                .thenReturn(List.of(row(2L, "Garden room")));
+
+        index.onRoomChanged(RoomChangedEvent.forRooms(List.of(2L), List.of("Indiranagar")));
+        assertEquals(List.of(1L), index.search("room", new RoomFilterDto(), 10));
+
+        index.commit();
+        assertEquals(Set.of(1L, 2L), Set.copyOf(index.search("room", new RoomFilterDto(), 10)));
+    }
+
+    private void rebuildWith(List<RoomRepository.RoomSearchRow> rows) {
+        when(roomRepository.findSearchRowsAfter(anyLong(), any(Pageable.class))).thenReturn(rows);
+        index.rebuild(new JobStatusDto());
+    }
+
+    // A null title stands in for a row that cannot be indexed
+    private static RoomRepository.RoomSearchRow row(Long id, String title) {
+        return new RoomRepository.RoomSearchRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                if (title == null) {
+                    throw new IllegalStateException("Unreadable row " + id);
+                }
+                return title;
+            }
+
+            @Override
+            public String getDescription() {
+                return null;
+            }
+
+            @Override
+            public String getLocation() {
+                return "Indiranagar";
+            }
+
+            @Override
+            public Double getPrice() {
+                return 9000.0;
+            }
+
+            @Override
+            public String getRoomType() {
+                return null;
+            }
+
+            @Override
+            public Boolean getFurnished() {
+                return null;
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return true;
+            }
+
+            @Override
+            public String getGenderPreference() {
+                return null;
+            }
+
+            @Override
+            public Integer getMaxOccupancy() {
+                return null;
+            }
+
+            @Override
+            public LocalDate getAvailableFrom() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package roomy.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.authentication.session.SessionAuthenticationException;
+import roomy.TestUsers;
+import roomy.entities.Session;
+import roomy.entities.User;
+import roomy.repositories.SessionRepository;
+import roomy.repositories.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class SessionServiceTest {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void storesOnlyTheTokenHash() {
+        User user = TestUsers.save(userRepository);
+        sessionService.generateNewSession(user, "raw-refresh-token");
+
+        List<Session> sessions = sessionsOf(user);
+        assertEquals(1, sessions.size());
+        assertEquals(64, sessions.get(0).getTokenHash().length());
+        assertFalse(sessions.get(0).getTokenHash().contains("raw-refresh-token"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedSession() throws InterruptedException {
+        User user = TestUsers.save(userRepository);
+        sessionService.generateNewSession(user, "first");
+        sessionService.generateNewSession(user, "second");
+        Thread.sleep(5);
+        // The first session is now the most recently used, so the next login evicts the second
+        sessionService.validateSession("first");
+        sessionService.generateNewSession(user, "third");
+
+        assertEquals(2, sessionsOf(user).size());
+        assertDoesNotThrow(() -> sessionService.validateSession("first"));
+        assertDoesNotThrow(() -> sessionService.validateSession("third"));
+        assertThrows(SessionAuthenticationException.class, () -> sessionService.validateSession("second"));
+    }
+
+    @Test
+    void repeatedRefreshesAreServedFromMemory() {
+        User user = TestUsers.save(userRepository);
+        sessionService.generateNewSession(user, "cached");
+        sessionService.validateSession("cached");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        sessionService.validateSession("cached");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deletingUserSessionsInvalidatesCachedOnes() {
+        User user = TestUsers.save(userRepository);
+        sessionService.generateNewSession(user, "to-delete");
+        sessionService.validateSession("to-delete");
+
+        sessionService.deleteUserSessions(user.getId());
+
+        assertThrows(SessionAuthenticationException.class, () -> sessionService.validateSession("to-delete"));
+    }
+
+    @Test
+    void anotherUsersLoginKeepsCachedSessions() {
+        User user = TestUsers.save(userRepository);
+        sessionService.generateNewSession(user, "untouched");
+        sessionService.validateSession("untouched");
+
+        User other = TestUsers.save(userRepository);
+        sessionService.generateNewSession(other, "other-first");
+        sessionService.generateNewSession(other, "other-second");
+        sessionService.deleteUserSessions(other.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        sessionService.validateSession("untouched");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private List<Session> sessionsOf(User user) {
+        return sessionRepository.findAll().stream()
+                .filter(session -> session.getUser().getId().equals(user.getId()))
+                .toList();
+    }
+}
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useParams, Link } from 'react-router-dom';
-import { Room, Review } from '../../types';
+import { Room, Review, ReviewPage, ReviewStats } from '../../types';
 import { useAuth } from '../../contexts/AuthContext';
 import ApiService from '../../services/api';
 import { 
@@ -14,6 +14,8 @@ const RoomDetailsPage: React.FC = () => {
   const { user } = useAuth();
   const [room, setRoom] = useState<Room | null>(null);
   const [reviews, setReviews] = useState<Review[]>([]);
+  const [reviewStats, setReviewStats] = useState<ReviewStats | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [isLoading, setIsLoading] = useState(true);
   const [currentImageIndex, setCurrentImageIndex] = useState(0);
 
@@ -21,6 +23,7 @@ const RoomDetailsPage: React.FC = () => {
     if (id) {
       fetchRoomDetails();
       fetchReviews();
+      fetchReviewStats();
     }
   }, [id]);
 
@@ -36,18 +39,28 @@ const RoomDetailsPage: React.FC = () => {
     }
   };
 
-  const fetchReviews = async () => {
+  const fetchReviews = async (cursor?: string | null) => {
     try {
-      const response = await ApiService.getRoomReviews(parseInt(id!));
-      setReviews(response.data);
+      const response = await ApiService.getRoomReviews(parseInt(id!), cursor);
+      const page: ReviewPage = response.data;
+      setReviews((prev) => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error('Failed to fetch reviews:', error);
     }
   };
 
-  const averageRating = reviews.length > 0 
-    ? reviews.reduce((sum, review) => sum + review.rating, 0) / reviews.length 
-    : 0;
+  const fetchReviewStats = async () => {
+    try {
+      const response = await ApiService.getRoomReviewStats(parseInt(id!));
+      setReviewStats(response.data);
+    } catch (error) {
+      console.error('Failed to fetch review stats:', error);
+    }
+  };
+
+  const averageRating = reviewStats?.averageRating ?? 0;
+  const reviewCount = reviewStats?.reviewCount ?? reviews.length;
 
   if (isLoading) {
     return (
@@ -161,7 +174,7 @@ const RoomDetailsPage: React.FC = () => {
               <div className="flex items-center">
                 <Star className="h-5 w-5 text-yellow-400 fill-current" />
                 <span className="ml-1 font-medium">{averageRating.toFixed(1)}</span>
-                <span className="text-gray-500 ml-1">({reviews.length} reviews)</span>
+                <span className="text-gray-500 ml-1">({reviewCount} reviews)</span>
               </div>
             </div>
             <h1 className="text-3xl font-bold text-gray-900 mb-2">{room.title}</h1>
@@ -219,7 +232,7 @@ const RoomDetailsPage: React.FC = () => {
         <div className="p-6 border-b">
           <div className="flex items-center justify-between">
             <h2 className="text-2xl font-semibold text-gray-900">
-              Reviews ({reviews.length})
+              Reviews ({reviewCount})
             </h2>
             {user && user.id !== room.userId && (
               <Link
@@ -266,6 +279,16 @@ const RoomDetailsPage: React.FC = () => {
                 <p className="text-gray-700">{review.reviewComment}</p>
               </div>
             ))}
+            {nextCursor && (
+              <div className="p-6 text-center">
+                <button
+                  onClick={() => fetchReviews(nextCursor)}
+                  className="text-blue-600 hover:text-blue-700 font-medium"
+                >
+                  Load more reviews
+                </button>
+              </div>
+            )}
           </div>
         )}
       </div>
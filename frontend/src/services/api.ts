@@ -1,6 +1,7 @@
 import axios, { AxiosInstance, AxiosResponse } from 'axios';
 import toast from 'react-hot-toast';
 import { getAccessToken, clearAuth, setAccessToken } from '../utils/authStore';
+import { newTraceparent } from '../utils/traceContext';
 
 const API_BASE_URL = 'http://localhost:8081';
 
@@ -27,6 +28,7 @@ class ApiService {
         if (token) {
           config.headers.Authorization = `Bearer ${token}`;
         }
+        config.headers.traceparent = newTraceparent();
         return config;
       },
       (error) => Promise.reject(error)
@@ -220,8 +222,14 @@ class ApiService {
     return this.api.post('/api/room-reviews/add', data);
   }
 
-  async getRoomReviews(roomId: number) {
-    return this.api.get(`/api/room-reviews/room/${roomId}`);
+  async getRoomReviews(roomId: number, cursor?: string | null, size = 20) {
+    const params = new URLSearchParams({ size: String(size) });
+    if (cursor) params.set('cursor', cursor);
+    return this.api.get(`/api/room-reviews/room/${roomId}?${params.toString()}`);
+  }
+
+  async getRoomReviewStats(roomId: number) {
+    return this.api.get(`/api/room-reviews/room/${roomId}/stats`);
   }
 
 
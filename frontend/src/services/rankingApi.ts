@@ -1,5 +1,6 @@
 import axios, { AxiosInstance } from 'axios';
 import { getAccessToken, clearAuth, setAccessToken } from '../utils/authStore';
+import { newTraceparent } from '../utils/traceContext';
 
 const RANKING_API_BASE_URL = 'http://localhost:5000';
 
@@ -26,6 +27,7 @@ class RankingApiService {
         if (token) {
           config.headers.Authorization = `Bearer ${token}`;
         }
+        config.headers.traceparent = newTraceparent();
         return config;
       },
       (error) => Promise.reject(error)
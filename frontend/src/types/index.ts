@@ -60,6 +60,17 @@ export interface Review {
   createdAt?: string;
 }
 
+export interface ReviewPage {
+  items: Review[];
+  nextCursor: string | null;
+}
+
+export interface ReviewStats {
+  averageRating: number;
+  reviewCount: number;
+  ratingHistogram: Record<number, number>;
+}
+
 export interface ChatMessage {
   content: string;
   timestamp: string;
@@ -0,0 +1,9 @@
+// W3C trace context: each API call starts a new trace that the backend and ranking service continue.
+const toHex = (bytes: Uint8Array) =>
+  Array.from(bytes, (b) => b.toString(16).padStart(2, '0')).join('');
+
+export const newTraceparent = (): string => {
+  const traceId = toHex(crypto.getRandomValues(new Uint8Array(16)));
+  const spanId = toHex(crypto.getRandomValues(new Uint8Array(8)));
+  return `00-${traceId}-${spanId}-01`;
+};
@@ -2,10 +2,12 @@ from flask import Flask, request, jsonify
 from utils.fetch_property import fetch_property
 from utils.cache import get_cached_rank, set_cached_rank, invalidate_locality
 from utils.rank import rank
+from utils.tracing import init_tracing, span, SPAN_KIND_CLIENT
 from flask_cors import CORS
 
 app = Flask(__name__)
-CORS(app, origins=["http://localhost:5173"], supports_credentials=True)
+CORS(app, origins=["http://localhost:5173"], supports_credentials=True, expose_headers=["traceparent"])
+init_tracing(app)
 
 @app.route('/')
 def home():
@@ -32,15 +34,19 @@ def ranked_rooms():
         return jsonify({"error": "Missing 'location' parameter"}), 400
 
     # Check cache first
-    cached_data = get_cached_rank(location)
+    with span("redis GET", SPAN_KIND_CLIENT, **{"db.system": "redis"}) as s:
+        cached_data = get_cached_rank(location)
+        s.set_attribute("cache.hit", cached_data is not None)
     if cached_data is not None:
         return jsonify({"source": "cache", "data": cached_data})
 
     try:
         data = fetch_property(f"http://localhost:8081/api/room/query?query={location}")
-        ranked_data = rank(data)
+        with span("rank", rooms=len(data)):
+            ranked_data = rank(data)
 
-        set_cached_rank(location, ranked_data)
+        with span("redis SETEX", SPAN_KIND_CLIENT, **{"db.system": "redis"}):
+            set_cached_rank(location, ranked_data)
 
         return jsonify(ranked_data), 200
     except Exception as e:
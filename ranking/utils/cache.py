@@ -38,4 +38,14 @@ def set_cached_rank(locality: str, payload: dict, ttl: Optional[int] = None) ->
 
 
 def invalidate_locality(locality: str) -> None:
-    redis_client.delete(cache_key(locality))
+    """Drop the exact key plus every cached query that would match this locality.
+
+    /rank matches rooms whose location contains the query, so a change in
+    "koramangala, bangalore" must also evict cached results for "koramangala".
+    """
+    normalized = locality.strip().lower()
+    keys = [cache_key(normalized)]
+    for key in redis_client.scan_iter(match=f"{KEY_PREFIX}*", count=500):
+        if key[len(KEY_PREFIX):] in normalized:
+            keys.append(key)
+    redis_client.delete(*keys)
@@ -1,8 +1,13 @@
 import requests
 
+from utils.tracing import span, outgoing_headers, SPAN_KIND_CLIENT
+
 def fetch_property(api_url):
     """Fetch properties from API, rank them, and return sorted list."""
-    response = requests.get(api_url)
+    with span("GET backend", SPAN_KIND_CLIENT, **{"http.url": api_url}) as s:
+        # Headers are taken inside the client span so the backend's server span is its child
+        response = requests.get(api_url, headers=outgoing_headers())
+        s.set_attribute("http.status_code", response.status_code)
     if response.status_code != 200:
         raise Exception(f"Failed to fetch API data: {response.status_code}")
 
@@ -0,0 +1,57 @@
+"""W3C trace context support for the ranking service, built on the OpenTelemetry SDK.
+
+Flask instrumentation continues the caller's ``traceparent`` (or starts a trace) and records
+a server span per request; ``span`` adds child spans for Redis, backend fetches and ranking,
+and ``outgoing_headers`` forwards the context on outgoing calls. Finished spans are batched
+and exported over OTLP/HTTP in a background thread so requests never wait on the exporter.
+"""
+import os
+from contextlib import contextmanager
+
+from opentelemetry import propagate, trace
+from opentelemetry.exporter.otlp.proto.http.trace_exporter import OTLPSpanExporter
+from opentelemetry.instrumentation.flask import FlaskInstrumentor
+from opentelemetry.sdk.resources import Resource
+from opentelemetry.sdk.trace import TracerProvider
+from opentelemetry.sdk.trace.export import BatchSpanProcessor
+from opentelemetry.trace import SpanKind
+from opentelemetry.trace.propagation.tracecontext import TraceContextTextMapPropagator
+
+SERVICE_NAME = os.getenv("OTEL_SERVICE_NAME", "ranking")
+TRACES_ENDPOINT = os.getenv("OTLP_TRACES_ENDPOINT", "http://localhost:4318/v1/traces")
+ENABLED = os.getenv("TRACING_ENABLED", "true").lower() == "true"
+
+SPAN_KIND_INTERNAL, SPAN_KIND_SERVER, SPAN_KIND_CLIENT = SpanKind.INTERNAL, SpanKind.SERVER, SpanKind.CLIENT
+
+_tracer = trace.get_tracer("roomy.ranking")
+_trace_context = TraceContextTextMapPropagator()
+
+
+@contextmanager
+def span(name, kind=SPAN_KIND_INTERNAL, **attributes):
+    # The SDK records the exception and marks the span as an error if the block raises
+    with _tracer.start_as_current_span(name, kind=kind, attributes=attributes) as current:
+        yield current
+
+
+def outgoing_headers():
+    """Headers that continue the current trace on an outgoing HTTP call."""
+    headers = {}
+    propagate.inject(headers)
+    return headers
+
+
+def init_tracing(app):
+    provider = TracerProvider(resource=Resource.create({"service.name": SERVICE_NAME}))
+    if ENABLED:
+        # Without a processor spans are still created, so context keeps flowing; only export is off
+        provider.add_span_processor(BatchSpanProcessor(OTLPSpanExporter(endpoint=TRACES_ENDPOINT)))
+    trace.set_tracer_provider(provider)
+
+    FlaskInstrumentor().instrument_app(app)
+
+    @app.after_request
+    def _expose_traceparent(response):
+        # The server span is still current here; the frontend reads it to link its own spans
+        _trace_context.inject(response.headers)
+        return response